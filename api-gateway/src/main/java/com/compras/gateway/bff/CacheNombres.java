@@ -0,0 +1,48 @@
+package com.compras.gateway.bff;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché breve id -> nombre de proveedores o productos. Las entradas vencen tras el TTL; al superar
+ * el máximo se descartan las vencidas y, si no alcanza, todas.
+ */
+public class CacheNombres {
+    private record Entrada(String nombre, long expiraEn) {}
+
+    private final Map<Long, Entrada> entradas = new ConcurrentHashMap<>();
+    private final long ttlMs;
+    private final int maxEntradas;
+
+    public CacheNombres(Duration ttl, int maxEntradas) {
+        this.ttlMs = ttl.toMillis();
+        this.maxEntradas = maxEntradas;
+    }
+
+    public Map<Long, String> buscar(Collection<Long> ids) {
+        long ahora = System.currentTimeMillis();
+        Map<Long, String> encontrados = new HashMap<>();
+        for (Long id : ids) {
+            Entrada entrada = entradas.get(id);
+            if (entrada != null && entrada.expiraEn() > ahora) {
+                encontrados.put(id, entrada.nombre());
+            }
+        }
+        return encontrados;
+    }
+
+    public void guardar(Map<Long, String> nombres) {
+        if (entradas.size() + nombres.size() > maxEntradas) {
+            long ahora = System.currentTimeMillis();
+            entradas.values().removeIf(entrada -> entrada.expiraEn() <= ahora);
+            if (entradas.size() + nombres.size() > maxEntradas) {
+                entradas.clear();
+            }
+        }
+        long expiraEn = System.currentTimeMillis() + ttlMs;
+        nombres.forEach((id, nombre) -> entradas.put(id, new Entrada(nombre, expiraEn)));
+    }
+}
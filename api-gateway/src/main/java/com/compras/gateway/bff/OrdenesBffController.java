@@ -0,0 +1,27 @@
+package com.compras.gateway.bff;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+// Rutas de agregación para el frontend; tienen prioridad sobre las rutas del gateway
+@RestController
+@RequestMapping("/bff")
+public class OrdenesBffController {
+    // Igual que el tamaño máximo de /ordenes/pagina
+    private static final int TAMANO_MAXIMO = 50;
+
+    private final OrdenesBffService ordenesBffService;
+
+    public OrdenesBffController(OrdenesBffService ordenesBffService) {
+        this.ordenesBffService = ordenesBffService;
+    }
+
+    @GetMapping("/ordenes")
+    public Mono<PaginaOrdenes> ordenes(@RequestParam(defaultValue = "0") int page,
+                                       @RequestParam(defaultValue = "20") int size) {
+        return ordenesBffService.ordenes(Math.max(page, 0), Math.max(1, Math.min(size, TAMANO_MAXIMO)));
+    }
+}
@@ -0,0 +1,121 @@
+package com.compras.gateway.bff;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Arma la vista de lista de órdenes en una sola respuesta: trae una página de órdenes y resuelve
+ * en paralelo, por lote, solo los proveedores y productos que aparecen en ella (con caché breve).
+ * Si un servicio de referencia falla se devuelven las órdenes sin nombres.
+ */
+@Service
+public class OrdenesBffService {
+    private static final Logger log = LoggerFactory.getLogger(OrdenesBffService.class);
+    private static final ParameterizedTypeReference<List<OrdenOrigen>> ORDENES = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<Referencia>> REFERENCIAS = new ParameterizedTypeReference<>() {};
+
+    record OrdenOrigen(Long id, Long proveedorId, BigDecimal total, Boolean estado, Instant fechaCreacion,
+                       List<DetalleOrigen> detalles) {}
+
+    record DetalleOrigen(Long id, Long productoId, Integer cantidad, BigDecimal precioUnitario, BigDecimal precioTotal) {}
+
+    record Referencia(Long id, String nombre) {}
+
+    private final WebClient webClient;
+    private final CacheNombres proveedores;
+    private final CacheNombres productos;
+
+    public OrdenesBffService(@LoadBalanced WebClient.Builder loadBalancedWebClientBuilder,
+                             @Value("${bff.cache.ttl:30s}") Duration ttl,
+                             @Value("${bff.cache.max-entradas:10000}") int maxEntradas) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.proveedores = new CacheNombres(ttl, maxEntradas);
+        this.productos = new CacheNombres(ttl, maxEntradas);
+    }
+
+    public Mono<PaginaOrdenes> ordenes(int pagina, int tamano) {
+        return webClient.get()
+                .uri("http://ordenes-service/ordenes/pagina?page={page}&size={size}", pagina, tamano)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(ORDENES)
+                .flatMap(ordenes -> {
+                    Set<Long> proveedorIds = new TreeSet<>();
+                    Set<Long> productoIds = new TreeSet<>();
+                    for (OrdenOrigen orden : ordenes) {
+                        proveedorIds.add(orden.proveedorId());
+                        if (orden.detalles() != null) {
+                            orden.detalles().forEach(detalle -> productoIds.add(detalle.productoId()));
+                        }
+                    }
+                    return Mono.zip(
+                                    resolver(proveedores, "http://proveedores-service/proveedores/lote", proveedorIds),
+                                    resolver(productos, "http://productos-service/productos/lote", productoIds))
+                            .map(nombres -> unir(pagina, tamano, ordenes, nombres.getT1(), nombres.getT2()));
+                });
+    }
+
+    private Mono<Map<Long, String>> resolver(CacheNombres cache, String url, Set<Long> ids) {
+        Map<Long, String> nombres = cache.buscar(ids);
+        Set<Long> faltantes = new TreeSet<>(ids);
+        faltantes.removeAll(nombres.keySet());
+        if (faltantes.isEmpty()) {
+            return Mono.just(nombres);
+        }
+        return webClient.get()
+                .uri(url, builder -> builder.queryParam("ids", faltantes).build())
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(REFERENCIAS)
+                .map(referencias -> {
+                    Map<Long, String> nuevos = new HashMap<>();
+                    referencias.forEach(referencia -> nuevos.put(referencia.id(), referencia.nombre()));
+                    cache.guardar(nuevos);
+                    nombres.putAll(nuevos);
+                    return nombres;
+                })
+                .onErrorResume(e -> {
+                    log.warn("No se pudieron resolver nombres desde {}: {}", url, e.getMessage());
+                    return Mono.just(nombres);
+                });
+    }
+
+    private static PaginaOrdenes unir(int pagina, int tamano, List<OrdenOrigen> ordenes,
+                                      Map<Long, String> nombresProveedor, Map<Long, String> nombresProducto) {
+        List<PaginaOrdenes.Orden> resultado = ordenes.stream()
+                .map(orden -> new PaginaOrdenes.Orden(
+                        orden.id(),
+                        orden.proveedorId(),
+                        nombresProveedor.get(orden.proveedorId()),
+                        orden.total(),
+                        orden.estado(),
+                        orden.fechaCreacion(),
+                        orden.detalles() == null ? List.of() : orden.detalles().stream()
+                                .map(detalle -> new PaginaOrdenes.Detalle(
+                                        detalle.id(),
+                                        detalle.productoId(),
+                                        nombresProducto.get(detalle.productoId()),
+                                        detalle.cantidad(),
+                                        detalle.precioUnitario(),
+                                        detalle.precioTotal()))
+                                .toList()))
+                .toList();
+        return new PaginaOrdenes(pagina, tamano, resultado);
+    }
+}
@@ -0,0 +1,15 @@
+package com.compras.gateway.bff;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+// Respuesta de /bff/ordenes: órdenes con el nombre del proveedor y de cada producto ya resueltos
+public record PaginaOrdenes(int pagina, int tamano, List<Orden> ordenes) {
+
+    public record Orden(Long id, Long proveedorId, String proveedor, BigDecimal total, Boolean estado,
+                        Instant fechaCreacion, List<Detalle> detalles) {}
+
+    public record Detalle(Long id, Long productoId, String producto, Integer cantidad,
+                          BigDecimal precioUnitario, BigDecimal precioTotal) {}
+}
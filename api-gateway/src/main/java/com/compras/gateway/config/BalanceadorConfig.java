@@ -0,0 +1,10 @@
+package com.compras.gateway.config;
+
+import com.compras.gateway.loadbalancer.BalanceadorClienteConfig;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@LoadBalancerClients(defaultConfiguration = BalanceadorClienteConfig.class)
+public class BalanceadorConfig {
+}
@@ -0,0 +1,35 @@
+package com.compras.gateway.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Scope;
+import org.springframework.web.reactive.function.client.WebClient;
+
+// WebClient con balanceo (lb por nombre de servicio en Eureka) para las rutas de agregación /bff
+@Configuration
+public class WebClientConfig {
+
+    // Builder sin balanceo para el resto de usos (p. ej. el health check del balanceador, que llama a
+    // cada instancia por su host:puerto); reemplaza al de Spring Boot, que se retira al haber otro builder
+    @Bean
+    @Primary
+    @Scope("prototype")
+    public WebClient.Builder webClientBuilder(ObjectProvider<WebClientCustomizer> customizers) {
+        WebClient.Builder builder = WebClient.builder();
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder;
+    }
+
+    // Con los mismos customizers de Spring Boot (spring.codec.max-in-memory-size, etc.) que el builder principal
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder(ObjectProvider<WebClientCustomizer> customizers) {
+        WebClient.Builder builder = WebClient.builder();
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder;
+    }
+}
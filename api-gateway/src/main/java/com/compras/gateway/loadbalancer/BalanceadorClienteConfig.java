@@ -0,0 +1,41 @@
+package com.compras.gateway.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplierBuilder;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.Set;
+
+// Configuración de cada cliente lb://; no lleva @Configuration porque se carga en el contexto hijo de cada servicio
+public class BalanceadorClienteConfig {
+
+    // Health check solo para los servicios con actuator (balanceador.health-check.servicios): en el resto
+    // /actuator/health no existe y todas sus instancias quedarían fuera del balanceo
+    @Bean
+    public ServiceInstanceListSupplier serviceInstanceListSupplier(ConfigurableApplicationContext context, Environment environment,
+                                                                   @Value("${balanceador.health-check.servicios:}") Set<String> conHealthCheck) {
+        ServiceInstanceListSupplierBuilder builder = ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .withZonePreference();
+        if (conHealthCheck.contains(environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME))) {
+            // WebClient sin balanceo: el health check llama a la instancia concreta, no a lb://
+            builder = builder.withHealthChecks(context.getBean(WebClient.Builder.class).build());
+        }
+        return builder.build(context);
+    }
+
+    @Bean
+    public MenorCargaLoadBalancer menorCargaLoadBalancer(Environment environment,
+                                                         LoadBalancerClientFactory clientFactory,
+                                                         @Value("${balanceador.expulsion:10s}") Duration expulsion) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new MenorCargaLoadBalancer(
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), expulsion);
+    }
+}
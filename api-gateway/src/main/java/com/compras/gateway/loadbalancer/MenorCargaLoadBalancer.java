@@ -0,0 +1,128 @@
+package com.compras.gateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Balanceo "power of two choices": toma dos instancias al azar y envía la petición a la que
+ * tenga menos peticiones en curso. Una instancia que falla al conectar queda expulsada durante
+ * el tiempo configurado, sin esperar a que Eureka la dé de baja.
+ */
+public class MenorCargaLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final Duration expulsion;
+    private final Map<String, AtomicInteger> enCurso = new ConcurrentHashMap<>();
+    private final Map<String, Long> expulsadasHasta = new ConcurrentHashMap<>();
+
+    public MenorCargaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider, Duration expulsion) {
+        this.supplierProvider = supplierProvider;
+        this.expulsion = expulsion;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::elegir);
+    }
+
+    private Response<ServiceInstance> elegir(List<ServiceInstance> instancias) {
+        if (instancias.isEmpty()) {
+            return new EmptyResponse();
+        }
+        long ahora = System.currentTimeMillis();
+        List<ServiceInstance> disponibles = instancias.stream().filter(i -> !expulsada(i, ahora)).toList();
+        if (disponibles.isEmpty()) {
+            // Si todas están expulsadas es preferible intentar con alguna que fallar sin intentarlo
+            disponibles = instancias;
+        }
+        if (disponibles.size() == 1) {
+            return new DefaultResponse(disponibles.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = random.nextInt(disponibles.size());
+        int b = random.nextInt(disponibles.size() - 1);
+        if (b >= a) {
+            b++;
+        }
+        ServiceInstance primera = disponibles.get(a);
+        ServiceInstance segunda = disponibles.get(b);
+        return new DefaultResponse(carga(primera) <= carga(segunda) ? primera : segunda);
+    }
+
+    private boolean expulsada(ServiceInstance instancia, long ahora) {
+        Long hasta = expulsadasHasta.get(instancia.getInstanceId());
+        if (hasta == null) {
+            return false;
+        }
+        if (hasta <= ahora) {
+            expulsadasHasta.remove(instancia.getInstanceId(), hasta);
+            return false;
+        }
+        return true;
+    }
+
+    private int carga(ServiceInstance instancia) {
+        AtomicInteger contador = enCurso.get(instancia.getInstanceId());
+        return contador != null ? contador.get() : 0;
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse.hasServer()) {
+            enCurso.computeIfAbsent(lbResponse.getServer().getInstanceId(), id -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        String instanceId = lbResponse.getServer().getInstanceId();
+        AtomicInteger contador = enCurso.get(instanceId);
+        if (contador != null) {
+            contador.updateAndGet(valor -> Math.max(0, valor - 1));
+        }
+        if (completionContext.status() == CompletionContext.Status.FAILED
+                && esFalloDeConexion(completionContext.getThrowable())) {
+            expulsadasHasta.put(instanceId, System.currentTimeMillis() + expulsion.toMillis());
+        }
+    }
+
+    private static boolean esFalloDeConexion(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,50 +1,41 @@
 import React, { useState, useEffect } from "react";
-import { OrdenCompra, Proveedor, DetalleOrdenCompra, Producto } from "../types";
-import {
-  ordenesApi,
-  proveedoresApi,
-  detallesApi,
-  productosApi,
-  handleApiError,
-} from "../services/api";
+import { OrdenCompra, OrdenListado, DetalleOrdenListado } from "../types";
+import { ordenesApi, bffApi, handleApiError } from "../services/api";
 
 interface OrdenListProps {
   onEditOrden: (orden: OrdenCompra) => void;
   refreshTrigger?: number;
 }
 
+const TAMANO_PAGINA = 20;
+
 const OrdenList: React.FC<OrdenListProps> = ({
   onEditOrden,
   refreshTrigger,
 }) => {
-  const [ordenes, setOrdenes] = useState<OrdenCompra[]>([]);
-  const [proveedores, setProveedores] = useState<Proveedor[]>([]);
-  const [productos, setProductos] = useState<Producto[]>([]);
+  const [ordenes, setOrdenes] = useState<OrdenListado[]>([]);
+  const [pagina, setPagina] = useState(0);
+  const [hayMas, setHayMas] = useState(false);
   const [loading, setLoading] = useState(true);
+  const [cargandoMas, setCargandoMas] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [expandedOrden, setExpandedOrden] = useState<number | null>(null);
-  const [detallesOrden, setDetallesOrden] = useState<
-    Record<number, DetalleOrdenCompra[]>
-  >({});
 
   useEffect(() => {
     loadData();
   }, [refreshTrigger]);
 
+  // Una sola llamada al gateway: la página de órdenes ya trae nombres de proveedor y productos
   const loadData = async () => {
     try {
       setLoading(true);
       setError(null);
 
-      const [ordenesData, proveedoresData, productosData] = await Promise.all([
-        ordenesApi.getAll(),
-        proveedoresApi.getAll(),
-        productosApi.getAll(),
-      ]);
+      const data = await bffApi.getOrdenes(0, TAMANO_PAGINA);
 
-      setOrdenes(ordenesData);
-      setProveedores(proveedoresData);
-      setProductos(productosData);
+      setOrdenes(data.ordenes);
+      setPagina(0);
+      setHayMas(data.ordenes.length === TAMANO_PAGINA);
     } catch (err) {
       setError(handleApiError(err));
     } finally {
@@ -52,43 +43,31 @@ const OrdenList: React.FC<OrdenListProps> = ({
     }
   };
 
-  const loadDetallesOrden = async (ordenId: number) => {
+  const loadMore = async () => {
     try {
-      const detalles = await detallesApi.getByOrdenId(ordenId);
+      setCargandoMas(true);
+      const data = await bffApi.getOrdenes(pagina + 1, TAMANO_PAGINA);
 
-      setDetallesOrden((prev) => ({
-        ...prev,
-        [ordenId]: detalles,
-      }));
+      setOrdenes((prev) => [...prev, ...data.ordenes]);
+      setPagina(pagina + 1);
+      setHayMas(data.ordenes.length === TAMANO_PAGINA);
     } catch (err) {
-      console.error(`Error al cargar detalles para orden ${ordenId}:`, err);
-      // Agregar el error al estado para mostrar información más útil
-      setDetallesOrden((prev) => ({
-        ...prev,
-        [ordenId]: [],
-      }));
+      alert(handleApiError(err));
+    } finally {
+      setCargandoMas(false);
     }
   };
 
   const toggleExpandOrden = (ordenId: number) => {
-    if (expandedOrden === ordenId) {
-      setExpandedOrden(null);
-    } else {
-      setExpandedOrden(ordenId);
-      if (!detallesOrden[ordenId]) {
-        loadDetallesOrden(ordenId);
-      }
-    }
+    setExpandedOrden(expandedOrden === ordenId ? null : ordenId);
   };
 
-  const getProveedorNombre = (proveedorId: number): string => {
-    const proveedor = proveedores.find((p) => p.id === proveedorId);
-    return proveedor?.nombre || `Proveedor ${proveedorId}`;
+  const getProveedorNombre = (orden: OrdenListado): string => {
+    return orden.proveedor || `Proveedor ${orden.proveedorId}`;
   };
 
-  const getProductoNombre = (productoId: number): string => {
-    const producto = productos.find((p) => p.id === productoId);
-    return producto?.nombre || `Producto ${productoId}`;
+  const getProductoNombre = (detalle: DetalleOrdenListado): string => {
+    return detalle.producto || `Producto ${detalle.productoId}`;
   };
 
   const handleDeleteOrden = async (ordenId: number) => {
@@ -99,13 +78,6 @@ const OrdenList: React.FC<OrdenListProps> = ({
     try {
       await ordenesApi.delete(ordenId);
       setOrdenes((prev) => prev.filter((o) => o.id !== ordenId));
-
-      // También eliminar los detalles de la memoria
-      setDetallesOrden((prev) => {
-        const newDetalles = { ...prev };
-        delete newDetalles[ordenId];
-        return newDetalles;
-      });
     } catch (err) {
       alert(handleApiError(err));
     }
@@ -262,7 +234,7 @@ const OrdenList: React.FC<OrdenListProps> = ({
                       </div>
                       <p className="text-sm text-gray-600 mb-1">
                         <strong>Proveedor:</strong>{" "}
-                        {getProveedorNombre(orden.proveedorId)}
+                        {getProveedorNombre(orden)}
                       </p>
                       <p className="text-xs text-gray-500">
                         {orden.fechaCreacion && formatDate(orden.fechaCreacion)}
@@ -364,99 +336,92 @@ const OrdenList: React.FC<OrdenListProps> = ({
                       Detalles de la Orden
                     </h4>
 
-                    {detallesOrden[orden.id!] ? (
-                      detallesOrden[orden.id!].length > 0 ? (
-                        <div className="space-y-3">
-                          {detallesOrden[orden.id!].map((detalle) => (
-                            <div
-                              key={detalle.id}
-                              className="bg-white p-4 rounded-lg border border-blue-100 shadow-sm"
-                            >
-                              <div className="flex justify-between items-center">
-                                <div>
-                                  <p className="font-semibold text-gray-800">
-                                    {getProductoNombre(detalle.productoId)}
-                                  </p>
-                                  <p className="text-xs text-gray-500 mb-1">
-                                    ID: {detalle.productoId}
-                                  </p>
-                                  <div className="flex items-center space-x-4 mt-1 text-sm text-gray-600">
-                                    <span className="flex items-center">
-                                      <svg
-                                        className="w-4 h-4 mr-1"
-                                        fill="none"
-                                        stroke="currentColor"
-                                        viewBox="0 0 24 24"
-                                      >
-                                        <path
-                                          strokeLinecap="round"
-                                          strokeLinejoin="round"
-                                          strokeWidth={2}
-                                          d="M7 7h.01M7 3h5c.512 0 1.024.195 1.414.586l7 7a2 2 0 010 2.828l-7 7a.997.997 0 01-1.414 0l-7-7A1.997 1.997 0 013 12V7a4 4 0 014-4z"
-                                        />
-                                      </svg>
-                                      Cant: {detalle.cantidad}
-                                    </span>
-                                    <span className="flex items-center">
-                                      <svg
-                                        className="w-4 h-4 mr-1"
-                                        fill="none"
-                                        stroke="currentColor"
-                                        viewBox="0 0 24 24"
-                                      >
-                                        <path
-                                          strokeLinecap="round"
-                                          strokeLinejoin="round"
-                                          strokeWidth={2}
-                                          d="M12 8c-1.657 0-3 .895-3 2s1.343 2 3 2 3 .895 3 2-1.343 2-3 2m0-8c1.11 0 2.08.402 2.599 1M12 8V7m0 1v8m0 0v1m0-1c-1.11 0-2.08-.402-2.599-1"
-                                        />
-                                      </svg>
-                                      ${detalle.precioUnitario.toFixed(2)}
-                                    </span>
-                                  </div>
-                                </div>
-                                <div className="text-right">
-                                  <p className="text-lg font-bold text-green-600">
-                                    ${detalle.precioTotal.toFixed(2)}
-                                  </p>
-                                  <p className="text-xs text-gray-500">
-                                    Subtotal
-                                  </p>
+                    {orden.detalles.length > 0 ? (
+                      <div className="space-y-3">
+                        {orden.detalles.map((detalle) => (
+                          <div
+                            key={detalle.id}
+                            className="bg-white p-4 rounded-lg border border-blue-100 shadow-sm"
+                          >
+                            <div className="flex justify-between items-center">
+                              <div>
+                                <p className="font-semibold text-gray-800">
+                                  {getProductoNombre(detalle)}
+                                </p>
+                                <p className="text-xs text-gray-500 mb-1">
+                                  ID: {detalle.productoId}
+                                </p>
+                                <div className="flex items-center space-x-4 mt-1 text-sm text-gray-600">
+                                  <span className="flex items-center">
+                                    <svg
+                                      className="w-4 h-4 mr-1"
+                                      fill="none"
+                                      stroke="currentColor"
+                                      viewBox="0 0 24 24"
+                                    >
+                                      <path
+                                        strokeLinecap="round"
+                                        strokeLinejoin="round"
+                                        strokeWidth={2}
+                                        d="M7 7h.01M7 3h5c.512 0 1.024.195 1.414.586l7 7a2 2 0 010 2.828l-7 7a.997.997 0 01-1.414 0l-7-7A1.997 1.997 0 013 12V7a4 4 0 014-4z"
+                                      />
+                                    </svg>
+                                    Cant: {detalle.cantidad}
+                                  </span>
+                                  <span className="flex items-center">
+                                    <svg
+                                      className="w-4 h-4 mr-1"
+                                      fill="none"
+                                      stroke="currentColor"
+                                      viewBox="0 0 24 24"
+                                    >
+                                      <path
+                                        strokeLinecap="round"
+                                        strokeLinejoin="round"
+                                        strokeWidth={2}
+                                        d="M12 8c-1.657 0-3 .895-3 2s1.343 2 3 2 3 .895 3 2-1.343 2-3 2m0-8c1.11 0 2.08.402 2.599 1M12 8V7m0 1v8m0 0v1m0-1c-1.11 0-2.08-.402-2.599-1"
+                                      />
+                                    </svg>
+                                    ${detalle.precioUnitario.toFixed(2)}
+                                  </span>
                                 </div>
                               </div>
+                              <div className="text-right">
+                                <p className="text-lg font-bold text-green-600">
+                                  ${detalle.precioTotal.toFixed(2)}
+                                </p>
+                                <p className="text-xs text-gray-500">
+                                  Subtotal
+                                </p>
+                              </div>
                             </div>
-                          ))}
-                        </div>
-                      ) : (
-                        <div className="text-center py-6 text-gray-500">
-                          <svg
-                            className="mx-auto h-8 w-8 mb-2 text-gray-400"
-                            fill="none"
-                            stroke="currentColor"
-                            viewBox="0 0 24 24"
-                          >
-                            <path
-                              strokeLinecap="round"
-                              strokeLinejoin="round"
-                              strokeWidth={1}
-                              d="M20 13V6a2 2 0 00-2-2H6a2 2 0 00-2 2v7m16 0v5a2 2 0 01-2 2H6a2 2 0 01-2-2v-5m16 0h-2.586a1 1 0 00-.707.293l-2.414 2.414a1 1 0 01-.707.293h-3.172a1 1 0 01-.707-.293l-2.414-2.414A1 1 0 006.586 13H4"
-                            />
-                          </svg>
-                          <p className="italic">
-                            No hay detalles para esta orden (Orden ID:{" "}
-                            {orden.id})
-                          </p>
-                          <p className="text-xs text-gray-400 mt-1">
-                            Es posible que esta orden se haya creado sin
-                            productos o que el backend no haya creado
-                            automáticamente los detalles
-                          </p>
-                        </div>
-                      )
+                          </div>
+                        ))}
+                      </div>
                     ) : (
-                      <div className="text-center py-6">
-                        <div className="inline-block animate-spin rounded-full h-6 w-6 border-b-2 border-blue-600 mb-2"></div>
-                        <p className="text-gray-500">Cargando detalles...</p>
+                      <div className="text-center py-6 text-gray-500">
+                        <svg
+                          className="mx-auto h-8 w-8 mb-2 text-gray-400"
+                          fill="none"
+                          stroke="currentColor"
+                          viewBox="0 0 24 24"
+                        >
+                          <path
+                            strokeLinecap="round"
+                            strokeLinejoin="round"
+                            strokeWidth={1}
+                            d="M20 13V6a2 2 0 00-2-2H6a2 2 0 00-2 2v7m16 0v5a2 2 0 01-2 2H6a2 2 0 01-2-2v-5m16 0h-2.586a1 1 0 00-.707.293l-2.414 2.414a1 1 0 01-.707.293h-3.172a1 1 0 01-.707-.293l-2.414-2.414A1 1 0 006.586 13H4"
+                          />
+                        </svg>
+                        <p className="italic">
+                          No hay detalles para esta orden (Orden ID:{" "}
+                          {orden.id})
+                        </p>
+                        <p className="text-xs text-gray-400 mt-1">
+                          Es posible que esta orden se haya creado sin
+                          productos o que el backend no haya creado
+                          automáticamente los detalles
+                        </p>
                       </div>
                     )}
                   </div>
@@ -464,6 +429,17 @@ const OrdenList: React.FC<OrdenListProps> = ({
               )}
             </div>
           ))}
+          {hayMas && (
+            <div className="p-6 text-center">
+              <button
+                onClick={loadMore}
+                disabled={cargandoMas}
+                className="px-4 py-2 bg-white text-gray-600 hover:text-blue-600 text-sm font-medium rounded-lg border border-gray-200 hover:border-blue-300 disabled:opacity-50"
+              >
+                {cargandoMas ? "Cargando..." : "Cargar más ordenes"}
+              </button>
+            </div>
+          )}
         </div>
       )}
     </div>
@@ -3,7 +3,8 @@ import {
     Proveedor,
     Producto,
     OrdenCompra,
-    DetalleOrdenCompra
+    DetalleOrdenCompra,
+    PaginaOrdenes
 } from '../types';
 
 // Configuración base para Axios
@@ -128,6 +129,15 @@ export const ordenesApi = {
     }
 };
 
+// =================== VISTAS AGREGADAS EN EL GATEWAY (BFF) ===================
+export const bffApi = {
+    // Página de órdenes con nombre de proveedor y de productos en una sola llamada
+    getOrdenes: async (page = 0, size = 20): Promise<PaginaOrdenes> => {
+        const response = await api.get('/bff/ordenes', { params: { page, size } });
+        return response.data;
+    }
+};
+
 // =================== SERVICIOS DE DETALLES (INTEGRADOS EN ORDENES) ===================
 export const detallesApi = {
     // Obtener detalles por ID de orden
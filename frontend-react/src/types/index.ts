@@ -44,6 +44,22 @@ export interface DetalleOrdenCompra {
     fechaActualizacion?: string;
 }
 
+// Vista de lista de órdenes armada en el gateway (/bff/ordenes) con los nombres ya resueltos
+export interface DetalleOrdenListado extends DetalleOrdenCompra {
+    producto?: string;
+}
+
+export interface OrdenListado extends OrdenCompra {
+    proveedor?: string;
+    detalles: DetalleOrdenListado[];
+}
+
+export interface PaginaOrdenes {
+    pagina: number;
+    tamano: number;
+    ordenes: OrdenListado[];
+}
+
 // Tipos auxiliares para el frontend
 export interface ProductoConCantidad extends Producto {
     cantidadSeleccionada: number;
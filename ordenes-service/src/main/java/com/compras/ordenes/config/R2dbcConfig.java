@@ -0,0 +1,51 @@
+package com.compras.ordenes.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+
+/**
+ * Convivencia de JPA (escrituras) con R2DBC (lecturas en flujo). Un ConnectionFactory registrado como bean
+ * haría que Spring Boot dejara de autoconfigurar el DataSource JDBC y el gestor de transacciones JPA, así que
+ * la autoconfiguración R2DBC está excluida (spring.autoconfigure.exclude) y el pool se crea aquí con las
+ * propiedades spring.r2dbc.*; solo se expone el DatabaseClient. Hikari, JPA y @Transactional quedan como
+ * los configura Spring Boot.
+ */
+@Configuration
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class R2dbcConfig implements DisposableBean {
+
+    private ConnectionPool pool;
+
+    @Bean
+    public DatabaseClient databaseClient(R2dbcProperties properties) {
+        ConnectionFactoryBuilder conexiones = ConnectionFactoryBuilder.withUrl(properties.getUrl());
+        if (StringUtils.hasText(properties.getUsername())) {
+            conexiones.username(properties.getUsername());
+        }
+        if (StringUtils.hasText(properties.getPassword())) {
+            conexiones.password(properties.getPassword());
+        }
+        R2dbcProperties.Pool configuracion = properties.getPool();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(conexiones.build())
+                .initialSize(configuracion.getInitialSize())
+                .maxSize(configuracion.getMaxSize())
+                .maxIdleTime(configuracion.getMaxIdleTime())
+                .build());
+        return DatabaseClient.create(pool);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+}
@@ -1,14 +1,31 @@
 package com.compras.ordenes.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(MappingJackson2CborHttpMessageConverter cborConverter,
+                                     @Value("${services.internos.cbor:true}") boolean usarCbor) {
+        RestTemplate restTemplate = new RestTemplate();
+        if (usarCbor) {
+            // Al final de la lista: los cuerpos de las peticiones siguen saliendo en JSON
+            restTemplate.getMessageConverters().removeIf(c -> c instanceof MappingJackson2CborHttpMessageConverter);
+            restTemplate.getMessageConverters().add(cborConverter);
+            // Solo las respuestas se piden en CBOR, con JSON como alternativa si el servicio no lo soporta
+            restTemplate.getInterceptors().add((request, body, execution) -> {
+                request.getHeaders().setAccept(List.of(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON));
+                return execution.execute(request, body);
+            });
+        }
+        return restTemplate;
     }
 }
@@ -0,0 +1,17 @@
+package com.compras.ordenes.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Con spring.main.lazy-initialization=true (perfil prod) solo los beans de springdoc quedan perezosos: se crean
+// en la primera consulta a /v3/api-docs y no durante el arranque. A diferencia de un BeanFactoryPostProcessor
+// propio, funciona también con el contexto precompilado por AOT
+@Configuration
+public class SpringdocLazyConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter soloSpringdocPerezoso() {
+        return (nombre, definicion, tipo) -> tipo == null || !tipo.getName().startsWith("org.springdoc.");
+    }
+}
@@ -0,0 +1,68 @@
+package com.compras.ordenes.controller;
+
+import com.compras.ordenes.dto.GastoProveedorMes;
+import com.compras.ordenes.dto.ProductoTop;
+import com.compras.ordenes.dto.TendenciaPrecioMes;
+import com.compras.ordenes.service.AnaliticaService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@RestController
+@RequestMapping("/ordenes/analitica")
+@Tag(name = "Analitica de Compras", description = "Agregados de gasto, ranking de productos y tendencia de precios")
+public class AnaliticaController {
+    private static final int LIMITE_MAXIMO = 100;
+
+    private final AnaliticaService analiticaService;
+
+    public AnaliticaController(AnaliticaService analiticaService) {
+        this.analiticaService = analiticaService;
+    }
+
+    @GetMapping("/gasto-proveedor")
+    public List<GastoProveedorMes> gastoPorProveedor(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return analiticaService.gastoPorProveedorYMes(inicio(desde), fin(hasta));
+    }
+
+    @GetMapping("/top-productos")
+    public ResponseEntity<List<ProductoTop>> topProductos(
+            @RequestParam(defaultValue = "cantidad") String criterio,
+            @RequestParam(defaultValue = "10") int limite,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        int n = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        return switch (criterio) {
+            case "cantidad" -> ResponseEntity.ok(analiticaService.topProductosPorCantidad(inicio(desde), fin(hasta), n));
+            case "monto" -> ResponseEntity.ok(analiticaService.topProductosPorMonto(inicio(desde), fin(hasta), n));
+            default -> ResponseEntity.badRequest().build();
+        };
+    }
+
+    @GetMapping("/precios/{productoId}")
+    public List<TendenciaPrecioMes> tendenciaPrecio(
+            @PathVariable Long productoId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return analiticaService.tendenciaPrecio(productoId, inicio(desde), fin(hasta));
+    }
+
+    // Por defecto los últimos 12 meses; las fechas se interpretan en UTC y "hasta" es inclusivo
+    private static Instant inicio(LocalDate desde) {
+        LocalDate fecha = desde != null ? desde : LocalDate.now(ZoneOffset.UTC).minusMonths(12).withDayOfMonth(1);
+        return fecha.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static Instant fin(LocalDate hasta) {
+        LocalDate fecha = hasta != null ? hasta : LocalDate.now(ZoneOffset.UTC);
+        return fecha.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -0,0 +1,50 @@
+package com.compras.ordenes.controller;
+
+import com.compras.ordenes.model.DetalleOrdenCompraArchivado;
+import com.compras.ordenes.model.OrdenCompraArchivada;
+import com.compras.ordenes.repository.DetalleOrdenCompraArchivadoRepository;
+import com.compras.ordenes.repository.OrdenCompraArchivadaRepository;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/ordenes/archivo")
+@Tag(name = "Ordenes Archivadas", description = "Consulta de solo lectura de órdenes cerradas archivadas")
+public class OrdenArchivadaController {
+    private final OrdenCompraArchivadaRepository repository;
+    private final DetalleOrdenCompraArchivadoRepository detalleRepository;
+
+    public OrdenArchivadaController(OrdenCompraArchivadaRepository repository,
+                                    DetalleOrdenCompraArchivadoRepository detalleRepository) {
+        this.repository = repository;
+        this.detalleRepository = detalleRepository;
+    }
+
+    @GetMapping
+    public List<OrdenCompraArchivada> list(@RequestParam(required = false) Long proveedorId,
+                                           @RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "50") int size) {
+        PageRequest pagina = PageRequest.of(page, Math.min(size, 500));
+        if (proveedorId != null) {
+            return repository.findByProveedorIdOrderByIdDesc(proveedorId, pagina);
+        }
+        return repository.findAllByOrderByIdDesc(pagina);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<OrdenCompraArchivada> get(@PathVariable Long id) {
+        return repository.findById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{ordenId}/detalles")
+    public ResponseEntity<List<DetalleOrdenCompraArchivado>> getDetalles(@PathVariable Long ordenId) {
+        if (!repository.existsById(ordenId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(detalleRepository.findByOrdenCompraId(ordenId));
+    }
+}
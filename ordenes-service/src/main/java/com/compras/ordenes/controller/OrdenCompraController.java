@@ -5,8 +5,11 @@ import com.compras.ordenes.model.DetalleOrdenCompra;
 import com.compras.ordenes.model.OrdenCompra;
 import com.compras.ordenes.repository.DetalleOrdenCompraRepository;
 import com.compras.ordenes.repository.OrdenCompraRepository;
+import com.compras.ordenes.service.DetalleOrdenService;
 import com.compras.ordenes.service.OrdenCompletaService;
+import com.compras.ordenes.service.OrdenCompraService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,21 +20,37 @@ import java.util.List;
 @RequestMapping("/ordenes")
 @Tag(name = "Ordenes de Compra")
 public class OrdenCompraController {
+    // Las órdenes se serializan con sus detalles (EAGER): páginas pequeñas para acotar la respuesta
+    private static final int TAMANO_PAGINA_MAXIMO = 50;
+
     private final OrdenCompraRepository repository;
     private final DetalleOrdenCompraRepository detalleRepository;
     private final OrdenCompletaService ordenCompletaService;
+    private final DetalleOrdenService detalleOrdenService;
+    private final OrdenCompraService ordenCompraService;
     
     public OrdenCompraController(OrdenCompraRepository repository, 
                                 DetalleOrdenCompraRepository detalleRepository,
-                                OrdenCompletaService ordenCompletaService) { 
+                                OrdenCompletaService ordenCompletaService,
+                                DetalleOrdenService detalleOrdenService,
+                                OrdenCompraService ordenCompraService) { 
         this.repository = repository; 
         this.detalleRepository = detalleRepository;
         this.ordenCompletaService = ordenCompletaService;
+        this.detalleOrdenService = detalleOrdenService;
+        this.ordenCompraService = ordenCompraService;
     }
 
     @GetMapping
     public List<OrdenCompra> list() { return repository.findAll(); }
 
+    // Página de órdenes más recientes primero (la usa /bff/ordenes en el gateway)
+    @GetMapping("/pagina")
+    public List<OrdenCompra> pagina(@RequestParam(defaultValue = "0") int page,
+                                    @RequestParam(defaultValue = "20") int size) {
+        return repository.findAllByOrderByIdDesc(PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, TAMANO_PAGINA_MAXIMO))));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrdenCompra> get(@PathVariable Long id) {
         return repository.findById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
@@ -56,20 +75,15 @@ public class OrdenCompraController {
 
     @PutMapping("/{id}")
     public ResponseEntity<OrdenCompra> update(@PathVariable Long id, @RequestBody OrdenCompra body) {
-        return repository.findById(id).map(existing -> {
-            existing.setProveedorId(body.getProveedorId());
-            existing.setTotal(body.getTotal());
-            existing.setEstado(body.getEstado());
-            return ResponseEntity.ok(repository.save(existing));
-        }).orElse(ResponseEntity.notFound().build());
+        return ordenCompraService.actualizar(id, body).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        return repository.findById(id).map(orden -> { 
-            repository.delete(orden); 
-            return new ResponseEntity<Void>(HttpStatus.NO_CONTENT); 
-        }).orElse(ResponseEntity.notFound().build());
+        if (!ordenCompraService.eliminar(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return new ResponseEntity<Void>(HttpStatus.NO_CONTENT);
     }
 
     // Endpoints para manejar detalles de orden
@@ -82,41 +96,28 @@ public class OrdenCompraController {
         return ResponseEntity.ok(detalles);
     }
 
+    // Las operaciones sobre detalles ajustan el total de la orden (ver DetalleOrdenService)
     @PostMapping("/{ordenId}/detalles")
     public ResponseEntity<DetalleOrdenCompra> addDetalle(@PathVariable Long ordenId, @RequestBody DetalleOrdenCompra detalle) {
-        return repository.findById(ordenId).map(orden -> {
-            detalle.setOrdenCompra(orden);
-            DetalleOrdenCompra savedDetalle = detalleRepository.save(detalle);
-            return ResponseEntity.status(HttpStatus.CREATED).body(savedDetalle);
-        }).orElse(ResponseEntity.notFound().build());
+        return detalleOrdenService.agregar(ordenId, detalle)
+                .map(saved -> ResponseEntity.status(HttpStatus.CREATED).body(saved))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{ordenId}/detalles/{detalleId}")
     public ResponseEntity<DetalleOrdenCompra> updateDetalle(@PathVariable Long ordenId, 
                                                            @PathVariable Long detalleId, 
                                                            @RequestBody DetalleOrdenCompra detalle) {
-        if (!repository.existsById(ordenId)) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        return detalleRepository.findById(detalleId).map(existing -> {
-            existing.setProductoId(detalle.getProductoId());
-            existing.setCantidad(detalle.getCantidad());
-            existing.setPrecioUnitario(detalle.getPrecioUnitario());
-            existing.setPrecioTotal(detalle.getPrecioTotal());
-            return ResponseEntity.ok(detalleRepository.save(existing));
-        }).orElse(ResponseEntity.notFound().build());
+        return detalleOrdenService.actualizar(ordenId, detalleId, detalle)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{ordenId}/detalles/{detalleId}")
     public ResponseEntity<Void> deleteDetalle(@PathVariable Long ordenId, @PathVariable Long detalleId) {
-        if (!repository.existsById(ordenId)) {
+        if (!detalleOrdenService.eliminar(ordenId, detalleId)) {
             return ResponseEntity.notFound().build();
         }
-        
-        return detalleRepository.findById(detalleId).map(detalle -> {
-            detalleRepository.delete(detalle);
-            return new ResponseEntity<Void>(HttpStatus.NO_CONTENT);
-        }).orElse(ResponseEntity.notFound().build());
+        return new ResponseEntity<Void>(HttpStatus.NO_CONTENT);
     }
 }
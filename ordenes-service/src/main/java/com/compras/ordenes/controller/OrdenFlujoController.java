@@ -0,0 +1,40 @@
+package com.compras.ordenes.controller;
+
+import com.compras.ordenes.dto.DetalleOrdenCompraDto;
+import com.compras.ordenes.dto.OrdenCompraResumen;
+import com.compras.ordenes.repository.OrdenLecturaReactivaRepository;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+/**
+ * Lectura en flujo sobre R2DBC, en application/x-ndjson (o text/event-stream): cada fila se escribe al
+ * llegar, con contrapresión, y la petición no retiene un hilo de Tomcat mientras espera a la base de datos.
+ * No se ofrece application/json: Spring MVC acumularía todo el Flux para escribir un único arreglo.
+ */
+@RestController
+@RequestMapping("/ordenes/flujo")
+@Tag(name = "Ordenes de Compra (flujo)", description = "Lectura no bloqueante de órdenes y detalles")
+public class OrdenFlujoController {
+    private final OrdenLecturaReactivaRepository repository;
+
+    public OrdenFlujoController(OrdenLecturaReactivaRepository repository) {
+        this.repository = repository;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<OrdenCompraResumen> list() {
+        return repository.findAll();
+    }
+
+    @GetMapping(value = "/{ordenId}/detalles",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<DetalleOrdenCompraDto> getDetallesByOrden(@PathVariable Long ordenId) {
+        return repository.existsById(ordenId).flatMapMany(existe -> existe
+                ? repository.findDetallesByOrdenCompraId(ordenId)
+                : Flux.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+}
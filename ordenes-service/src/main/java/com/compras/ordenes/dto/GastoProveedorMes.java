@@ -0,0 +1,12 @@
+package com.compras.ordenes.dto;
+
+import java.math.BigDecimal;
+
+// Fila de la consulta de gasto por proveedor y mes (proyección de consulta nativa)
+public interface GastoProveedorMes {
+    Long getProveedorId();
+    Integer getAnio();
+    Integer getMes();
+    Long getOrdenes();
+    BigDecimal getTotal();
+}
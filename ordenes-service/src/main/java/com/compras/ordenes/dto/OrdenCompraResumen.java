@@ -0,0 +1,9 @@
+package com.compras.ordenes.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Orden sin detalles, tal como se emite en la lectura en flujo (GET /ordenes/flujo)
+public record OrdenCompraResumen(Long id, Long proveedorId, BigDecimal total, Boolean estado,
+                                 Instant fechaCreacion, Instant fechaActualizacion) {
+}
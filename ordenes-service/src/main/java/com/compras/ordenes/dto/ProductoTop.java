@@ -0,0 +1,10 @@
+package com.compras.ordenes.dto;
+
+import java.math.BigDecimal;
+
+// Fila del ranking de productos por cantidad o monto comprado (proyección de consulta nativa)
+public interface ProductoTop {
+    Long getProductoId();
+    Long getCantidad();
+    BigDecimal getMonto();
+}
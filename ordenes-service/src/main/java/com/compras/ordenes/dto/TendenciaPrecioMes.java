@@ -0,0 +1,13 @@
+package com.compras.ordenes.dto;
+
+import java.math.BigDecimal;
+
+// Precio de compra de un producto agregado por mes (proyección de consulta nativa)
+public interface TendenciaPrecioMes {
+    Integer getAnio();
+    Integer getMes();
+    BigDecimal getPrecioMinimo();
+    BigDecimal getPrecioMaximo();
+    BigDecimal getPrecioPromedio();
+    Long getCantidad();
+}
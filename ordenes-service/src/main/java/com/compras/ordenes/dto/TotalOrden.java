@@ -0,0 +1,10 @@
+package com.compras.ordenes.dto;
+
+import java.math.BigDecimal;
+
+// Total guardado de una orden frente a la suma de sus detalles (proyección de consulta nativa)
+public interface TotalOrden {
+    Long getId();
+    BigDecimal getTotal();
+    BigDecimal getTotalDetalles();
+}
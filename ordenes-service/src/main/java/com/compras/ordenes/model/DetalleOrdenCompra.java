@@ -6,7 +6,10 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
-@Table(name = "detalle_orden_compra")
+@Table(name = "detalle_orden_compra", indexes = {
+    @Index(name = "idx_detalle_fecha_producto", columnList = "fecha_creacion, producto_id, cantidad, precio_total"),
+    @Index(name = "idx_detalle_producto_fecha", columnList = "producto_id, fecha_creacion")
+})
 public class DetalleOrdenCompra {
     @Id 
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,42 @@
+package com.compras.ordenes.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Copia de solo lectura de un detalle perteneciente a una orden archivada
+@Entity
+@Immutable
+@Table(name = "detalle_orden_compra_archivo", indexes = {
+    @Index(name = "idx_detalle_archivo_orden", columnList = "orden_compra_id"),
+    @Index(name = "idx_detalle_archivo_fecha_producto", columnList = "fecha_creacion, producto_id, cantidad, precio_total"),
+    @Index(name = "idx_detalle_archivo_producto_fecha", columnList = "producto_id, fecha_creacion")
+})
+public class DetalleOrdenCompraArchivado {
+    @Id
+    private Long id;
+    @Column(name = "orden_compra_id", nullable = false)
+    private Long ordenCompraId;
+    @Column(name = "producto_id", nullable = false)
+    private Long productoId;
+    @Column(nullable = false)
+    private Integer cantidad;
+    @Column(name = "precio_unitario", precision = 10, scale = 2, nullable = false)
+    private BigDecimal precioUnitario;
+    @Column(name = "precio_total", precision = 10, scale = 2, nullable = false)
+    private BigDecimal precioTotal;
+
+    private Instant fechaCreacion;
+    private Instant fechaActualizacion;
+
+    // getters
+    public Long getId() { return id; }
+    public Long getOrdenCompraId() { return ordenCompraId; }
+    public Long getProductoId() { return productoId; }
+    public Integer getCantidad() { return cantidad; }
+    public BigDecimal getPrecioUnitario() { return precioUnitario; }
+    public BigDecimal getPrecioTotal() { return precioTotal; }
+    public Instant getFechaCreacion() { return fechaCreacion; }
+    public Instant getFechaActualizacion() { return fechaActualizacion; }
+}
@@ -1,13 +1,16 @@
 package com.compras.ordenes.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "ordenes_compra")
+@Table(name = "ordenes_compra", indexes = {
+    @Index(name = "idx_orden_estado_actualizacion", columnList = "estado, fecha_actualizacion")
+})
 public class OrdenCompra {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -18,7 +21,9 @@ public class OrdenCompra {
     @Column(nullable = false)
     private Boolean estado = true;
     
+    // Al listar varias órdenes los detalles se cargan en lotes (IN) y no con una consulta por orden
     @OneToMany(mappedBy = "ordenCompra", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @BatchSize(size = 100)
     private List<DetalleOrdenCompra> detalles = new ArrayList<>();
     
     private Instant fechaCreacion;
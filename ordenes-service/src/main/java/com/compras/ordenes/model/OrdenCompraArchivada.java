@@ -0,0 +1,37 @@
+package com.compras.ordenes.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Copia de solo lectura de una orden cerrada movida fuera de ordenes_compra por el job de archivo
+@Entity
+@Immutable
+@Table(name = "ordenes_compra_archivo", indexes = {
+    @Index(name = "idx_orden_archivo_proveedor", columnList = "proveedor_id"),
+    @Index(name = "idx_orden_archivo_fecha", columnList = "fecha_creacion")
+})
+public class OrdenCompraArchivada {
+    @Id
+    private Long id;
+    @Column(name = "proveedor_id", nullable = false)
+    private Long proveedorId;
+    @Column(precision = 10, scale = 2, nullable = false)
+    private BigDecimal total;
+    @Column(nullable = false)
+    private Boolean estado;
+
+    private Instant fechaCreacion;
+    private Instant fechaActualizacion;
+    private Instant fechaArchivado;
+
+    // getters
+    public Long getId() { return id; }
+    public Long getProveedorId() { return proveedorId; }
+    public BigDecimal getTotal() { return total; }
+    public Boolean getEstado() { return estado; }
+    public Instant getFechaCreacion() { return fechaCreacion; }
+    public Instant getFechaActualizacion() { return fechaActualizacion; }
+    public Instant getFechaArchivado() { return fechaArchivado; }
+}
@@ -0,0 +1,27 @@
+package com.compras.ordenes.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// Fila única con el límite de los resúmenes mensuales: todos los meses anteriores a consolidadoHasta están calculados
+@Entity
+@Table(name = "resumen_compras_estado")
+public class ResumenComprasEstado {
+    public static final Integer ID = 1;
+
+    @Id
+    private Integer id;
+    @Column(name = "consolidado_hasta", nullable = false)
+    private LocalDate consolidadoHasta;
+
+    protected ResumenComprasEstado() {}
+
+    public ResumenComprasEstado(LocalDate consolidadoHasta) {
+        this.id = ID;
+        this.consolidadoHasta = consolidadoHasta;
+    }
+
+    public Integer getId() { return id; }
+    public LocalDate getConsolidadoHasta() { return consolidadoHasta; }
+    public void setConsolidadoHasta(LocalDate consolidadoHasta) { this.consolidadoHasta = consolidadoHasta; }
+}
@@ -0,0 +1,34 @@
+package com.compras.ordenes.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Gasto de un proveedor en un mes UTC cerrado (órdenes activas y archivadas); lo mantiene ResumenComprasJob
+@Entity
+@Immutable
+@Table(name = "resumen_gasto_proveedor_mes", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_resumen_gasto_mes_proveedor", columnNames = {"mes", "proveedor_id"})
+})
+public class ResumenGastoProveedorMes {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    // Primer día del mes
+    @Column(nullable = false)
+    private LocalDate mes;
+    @Column(name = "proveedor_id", nullable = false)
+    private Long proveedorId;
+    @Column(nullable = false)
+    private Long ordenes;
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal total;
+
+    // getters
+    public Long getId() { return id; }
+    public LocalDate getMes() { return mes; }
+    public Long getProveedorId() { return proveedorId; }
+    public Long getOrdenes() { return ordenes; }
+    public BigDecimal getTotal() { return total; }
+}
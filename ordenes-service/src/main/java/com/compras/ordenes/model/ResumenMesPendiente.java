@@ -0,0 +1,17 @@
+package com.compras.ordenes.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// Mes UTC cerrado con cambios posteriores a su resumen: ResumenComprasJob lo vuelve a calcular y borra la marca
+@Entity
+@Table(name = "resumen_compras_mes_pendiente")
+public class ResumenMesPendiente {
+    // Primer día del mes
+    @Id
+    private LocalDate mes;
+
+    protected ResumenMesPendiente() {}
+
+    public LocalDate getMes() { return mes; }
+}
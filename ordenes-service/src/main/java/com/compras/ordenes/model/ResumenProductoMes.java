@@ -0,0 +1,42 @@
+package com.compras.ordenes.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Compras de un producto en un mes UTC cerrado (detalles activos y archivados); lo mantiene ResumenComprasJob
+@Entity
+@Immutable
+@Table(name = "resumen_producto_mes", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_resumen_producto_mes_producto", columnNames = {"mes", "producto_id"})
+}, indexes = {
+    @Index(name = "idx_resumen_producto_producto_mes", columnList = "producto_id, mes")
+})
+public class ResumenProductoMes {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    // Primer día del mes
+    @Column(nullable = false)
+    private LocalDate mes;
+    @Column(name = "producto_id", nullable = false)
+    private Long productoId;
+    @Column(nullable = false)
+    private Long cantidad;
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal monto;
+    @Column(name = "precio_minimo", precision = 10, scale = 2, nullable = false)
+    private BigDecimal precioMinimo;
+    @Column(name = "precio_maximo", precision = 10, scale = 2, nullable = false)
+    private BigDecimal precioMaximo;
+
+    // getters
+    public Long getId() { return id; }
+    public LocalDate getMes() { return mes; }
+    public Long getProductoId() { return productoId; }
+    public Long getCantidad() { return cantidad; }
+    public BigDecimal getMonto() { return monto; }
+    public BigDecimal getPrecioMinimo() { return precioMinimo; }
+    public BigDecimal getPrecioMaximo() { return precioMaximo; }
+}
@@ -0,0 +1,94 @@
+package com.compras.ordenes.repository;
+
+import com.compras.ordenes.dto.GastoProveedorMes;
+import com.compras.ordenes.dto.ProductoTop;
+import com.compras.ordenes.dto.TendenciaPrecioMes;
+import com.compras.ordenes.model.DetalleOrdenCompra;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Consultas de agregado para analítica de compras. Los meses completos consolidados [mesDesde, mesHasta)
+ * se leen de las tablas de resumen; solo los tramos sin resumen ([desde, resumenDesde) y
+ * [resumenHasta, hasta), normalmente el mes en curso y el mes parcial del inicio) se agregan desde las
+ * tablas activas y de archivo (UNION ALL, filtro por fecha dentro de cada rama para usar los índices por
+ * fecha_creacion). Los meses se agrupan en UTC: la sesión JDBC está forzada a UTC (ver application.properties).
+ */
+public interface AnaliticaRepository extends Repository<DetalleOrdenCompra, Long> {
+
+    @Query(value = "SELECT g.proveedor_id AS proveedorId, g.anio AS anio, g.mes AS mes, " +
+                   "SUM(g.ordenes) AS ordenes, SUM(g.total) AS total " +
+                   "FROM (SELECT proveedor_id, YEAR(mes) AS anio, MONTH(mes) AS mes, ordenes, total FROM resumen_gasto_proveedor_mes " +
+                   "      WHERE mes >= :mesDesde AND mes < :mesHasta " +
+                   "      UNION ALL " +
+                   "      SELECT proveedor_id, YEAR(fecha_creacion), MONTH(fecha_creacion), 1, total FROM ordenes_compra " +
+                   "      WHERE (fecha_creacion >= :desde AND fecha_creacion < :resumenDesde) " +
+                   "         OR (fecha_creacion >= :resumenHasta AND fecha_creacion < :hasta) " +
+                   "      UNION ALL " +
+                   "      SELECT proveedor_id, YEAR(fecha_creacion), MONTH(fecha_creacion), 1, total FROM ordenes_compra_archivo " +
+                   "      WHERE (fecha_creacion >= :desde AND fecha_creacion < :resumenDesde) " +
+                   "         OR (fecha_creacion >= :resumenHasta AND fecha_creacion < :hasta)) g " +
+                   "GROUP BY g.proveedor_id, g.anio, g.mes " +
+                   "ORDER BY g.anio, g.mes, SUM(g.total) DESC",
+           nativeQuery = true)
+    List<GastoProveedorMes> gastoPorProveedorYMes(Instant desde, Instant hasta, Instant resumenDesde, Instant resumenHasta,
+                                                  LocalDate mesDesde, LocalDate mesHasta);
+
+    @Query(value = "SELECT d.producto_id AS productoId, SUM(d.cantidad) AS cantidad, SUM(d.monto) AS monto " +
+                   "FROM (SELECT producto_id, cantidad, monto FROM resumen_producto_mes " +
+                   "      WHERE mes >= :mesDesde AND mes < :mesHasta " +
+                   "      UNION ALL " +
+                   "      SELECT producto_id, cantidad, precio_total FROM detalle_orden_compra " +
+                   "      WHERE (fecha_creacion >= :desde AND fecha_creacion < :resumenDesde) " +
+                   "         OR (fecha_creacion >= :resumenHasta AND fecha_creacion < :hasta) " +
+                   "      UNION ALL " +
+                   "      SELECT producto_id, cantidad, precio_total FROM detalle_orden_compra_archivo " +
+                   "      WHERE (fecha_creacion >= :desde AND fecha_creacion < :resumenDesde) " +
+                   "         OR (fecha_creacion >= :resumenHasta AND fecha_creacion < :hasta)) d " +
+                   "GROUP BY d.producto_id ORDER BY SUM(d.cantidad) DESC LIMIT :limite",
+           nativeQuery = true)
+    List<ProductoTop> topProductosPorCantidad(Instant desde, Instant hasta, Instant resumenDesde, Instant resumenHasta,
+                                              LocalDate mesDesde, LocalDate mesHasta, int limite);
+
+    @Query(value = "SELECT d.producto_id AS productoId, SUM(d.cantidad) AS cantidad, SUM(d.monto) AS monto " +
+                   "FROM (SELECT producto_id, cantidad, monto FROM resumen_producto_mes " +
+                   "      WHERE mes >= :mesDesde AND mes < :mesHasta " +
+                   "      UNION ALL " +
+                   "      SELECT producto_id, cantidad, precio_total FROM detalle_orden_compra " +
+                   "      WHERE (fecha_creacion >= :desde AND fecha_creacion < :resumenDesde) " +
+                   "         OR (fecha_creacion >= :resumenHasta AND fecha_creacion < :hasta) " +
+                   "      UNION ALL " +
+                   "      SELECT producto_id, cantidad, precio_total FROM detalle_orden_compra_archivo " +
+                   "      WHERE (fecha_creacion >= :desde AND fecha_creacion < :resumenDesde) " +
+                   "         OR (fecha_creacion >= :resumenHasta AND fecha_creacion < :hasta)) d " +
+                   "GROUP BY d.producto_id ORDER BY SUM(d.monto) DESC LIMIT :limite",
+           nativeQuery = true)
+    List<ProductoTop> topProductosPorMonto(Instant desde, Instant hasta, Instant resumenDesde, Instant resumenHasta,
+                                           LocalDate mesDesde, LocalDate mesHasta, int limite);
+
+    @Query(value = "SELECT d.anio AS anio, d.mes AS mes, " +
+                   "MIN(d.precio_minimo) AS precioMinimo, MAX(d.precio_maximo) AS precioMaximo, " +
+                   "SUM(d.monto) / SUM(d.cantidad) AS precioPromedio, SUM(d.cantidad) AS cantidad " +
+                   "FROM (SELECT YEAR(mes) AS anio, MONTH(mes) AS mes, precio_minimo, precio_maximo, monto, cantidad " +
+                   "      FROM resumen_producto_mes " +
+                   "      WHERE producto_id = :productoId AND mes >= :mesDesde AND mes < :mesHasta " +
+                   "      UNION ALL " +
+                   "      SELECT YEAR(fecha_creacion), MONTH(fecha_creacion), precio_unitario, precio_unitario, precio_total, cantidad " +
+                   "      FROM detalle_orden_compra " +
+                   "      WHERE producto_id = :productoId AND ((fecha_creacion >= :desde AND fecha_creacion < :resumenDesde) " +
+                   "         OR (fecha_creacion >= :resumenHasta AND fecha_creacion < :hasta)) " +
+                   "      UNION ALL " +
+                   "      SELECT YEAR(fecha_creacion), MONTH(fecha_creacion), precio_unitario, precio_unitario, precio_total, cantidad " +
+                   "      FROM detalle_orden_compra_archivo " +
+                   "      WHERE producto_id = :productoId AND ((fecha_creacion >= :desde AND fecha_creacion < :resumenDesde) " +
+                   "         OR (fecha_creacion >= :resumenHasta AND fecha_creacion < :hasta))) d " +
+                   "GROUP BY d.anio, d.mes " +
+                   "ORDER BY d.anio, d.mes",
+           nativeQuery = true)
+    List<TendenciaPrecioMes> tendenciaPrecio(Long productoId, Instant desde, Instant hasta, Instant resumenDesde, Instant resumenHasta,
+                                             LocalDate mesDesde, LocalDate mesHasta);
+}
@@ -0,0 +1,19 @@
+package com.compras.ordenes.repository;
+
+import com.compras.ordenes.model.DetalleOrdenCompraArchivado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface DetalleOrdenCompraArchivadoRepository extends JpaRepository<DetalleOrdenCompraArchivado, Long> {
+
+    List<DetalleOrdenCompraArchivado> findByOrdenCompraId(Long ordenCompraId);
+
+    @Modifying
+    @Query(value = "INSERT INTO detalle_orden_compra_archivo (id, orden_compra_id, producto_id, cantidad, precio_unitario, precio_total, fecha_creacion, fecha_actualizacion) " +
+                   "SELECT id, orden_compra_id, producto_id, cantidad, precio_unitario, precio_total, fecha_creacion, fecha_actualizacion " +
+                   "FROM detalle_orden_compra WHERE orden_compra_id IN (:ordenIds)", nativeQuery = true)
+    int copiarDesdeDetalles(List<Long> ordenIds);
+}
@@ -1,11 +1,15 @@
 package com.compras.ordenes.repository;
 
 import com.compras.ordenes.model.DetalleOrdenCompra;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DetalleOrdenCompraRepository extends JpaRepository<DetalleOrdenCompra, Long> {
@@ -15,4 +19,14 @@ public interface DetalleOrdenCompraRepository extends JpaRepository<DetalleOrden
     
     @Query("SELECT d FROM DetalleOrdenCompra d WHERE d.productoId = :productoId")
     List<DetalleOrdenCompra> findByProductoId(Long productoId);
+
+    // SELECT ... FOR UPDATE: los cambios concurrentes sobre el mismo detalle se serializan y cada uno
+    // calcula su diferencia sobre el precio total que dejó el anterior
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM DetalleOrdenCompra d WHERE d.id = :id AND d.ordenCompra.id = :ordenCompraId")
+    Optional<DetalleOrdenCompra> bloquearDeOrden(Long id, Long ordenCompraId);
+
+    @Modifying
+    @Query("DELETE FROM DetalleOrdenCompra d WHERE d.ordenCompra.id IN :ordenIds")
+    int eliminarPorOrdenIds(List<Long> ordenIds);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.compras.ordenes.repository;
+
+import com.compras.ordenes.model.OrdenCompraArchivada;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface OrdenCompraArchivadaRepository extends JpaRepository<OrdenCompraArchivada, Long> {
+
+    List<OrdenCompraArchivada> findAllByOrderByIdDesc(Pageable pageable);
+
+    List<OrdenCompraArchivada> findByProveedorIdOrderByIdDesc(Long proveedorId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO ordenes_compra_archivo (id, proveedor_id, total, estado, fecha_creacion, fecha_actualizacion, fecha_archivado) " +
+                   "SELECT id, proveedor_id, total, estado, fecha_creacion, fecha_actualizacion, CURRENT_TIMESTAMP " +
+                   "FROM ordenes_compra WHERE id IN (:ids)", nativeQuery = true)
+    int copiarDesdeOrdenes(List<Long> ids);
+}
@@ -1,6 +1,50 @@
 package com.compras.ordenes.repository;
 
+import com.compras.ordenes.dto.TotalOrden;
 import com.compras.ordenes.model.OrdenCompra;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
-public interface OrdenCompraRepository extends JpaRepository<OrdenCompra, Long> {}
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrdenCompraRepository extends JpaRepository<OrdenCompra, Long> {
+
+    List<OrdenCompra> findAllByOrderByIdDesc(Pageable pageable);
+
+    // Mes de la orden en los resúmenes de compras, sin cargar sus detalles
+    @Query("SELECT o.fechaCreacion FROM OrdenCompra o WHERE o.id = :id")
+    Optional<Instant> fechaCreacion(Long id);
+
+    @Query("SELECT o.id FROM OrdenCompra o WHERE o.estado = false AND o.fechaActualizacion < :limite ORDER BY o.id")
+    List<Long> findIdsCerradasAntesDe(Instant limite, Pageable pageable);
+
+    // Vuelve a comprobar que siguen cerradas y antiguas y bloquea las filas hasta el fin de la transacción
+    @Query(value = "SELECT id FROM ordenes_compra WHERE id IN (:ids) AND estado = FALSE AND fecha_actualizacion < :limite FOR UPDATE",
+           nativeQuery = true)
+    List<Long> bloquearCerradasAntesDe(List<Long> ids, Instant limite);
+
+    @Modifying
+    @Query("DELETE FROM OrdenCompra o WHERE o.id IN :ids")
+    int eliminarPorIds(List<Long> ids);
+
+    // Ajuste atómico del total sin cargar la orden ni sus detalles
+    @Modifying
+    @Query("UPDATE OrdenCompra o SET o.total = o.total + :delta, o.fechaActualizacion = :ahora WHERE o.id = :id")
+    int ajustarTotal(Long id, BigDecimal delta, Instant ahora);
+
+    @Query(value = "SELECT o.id AS id, o.total AS total, COALESCE(SUM(d.precio_total), 0) AS totalDetalles " +
+                   "FROM ordenes_compra o LEFT JOIN detalle_orden_compra d ON d.orden_compra_id = o.id " +
+                   "WHERE o.id > :desdeId GROUP BY o.id, o.total ORDER BY o.id LIMIT :lote",
+           nativeQuery = true)
+    List<TotalOrden> totalesDesde(Long desdeId, int lote);
+
+    // Solo corrige si el total no cambió desde que se leyó, para no pisar un ajuste concurrente
+    @Modifying
+    @Query("UPDATE OrdenCompra o SET o.total = :correcto WHERE o.id = :id AND o.total = :observado")
+    int corregirTotal(Long id, BigDecimal observado, BigDecimal correcto);
+}
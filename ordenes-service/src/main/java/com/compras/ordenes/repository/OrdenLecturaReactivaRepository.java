@@ -0,0 +1,94 @@
+package com.compras.ordenes.repository;
+
+import com.compras.ordenes.dto.DetalleOrdenCompraDto;
+import com.compras.ordenes.dto.OrdenCompraResumen;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Lecturas no bloqueantes sobre R2DBC. Las filas se emiten según las pide el suscriptor,
+ * sin cargar la lista completa en memoria ni ocupar un hilo mientras espera a la base de datos.
+ * Las escrituras siguen por JPA (OrdenCompraRepository).
+ */
+@Repository
+public class OrdenLecturaReactivaRepository {
+    private final DatabaseClient databaseClient;
+
+    public OrdenLecturaReactivaRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<OrdenCompraResumen> findAll() {
+        return databaseClient.sql("""
+                        SELECT id, proveedor_id, total, estado, fecha_creacion, fecha_actualizacion
+                        FROM ordenes_compra ORDER BY id""")
+                .map(row -> new OrdenCompraResumen(
+                        row.get("id", Long.class),
+                        row.get("proveedor_id", Long.class),
+                        row.get("total", BigDecimal.class),
+                        row.get("estado", Boolean.class),
+                        instante(row, "fecha_creacion"),
+                        instante(row, "fecha_actualizacion")))
+                .all();
+    }
+
+    public Flux<DetalleOrdenCompraDto> findDetallesByOrdenCompraId(Long ordenCompraId) {
+        return databaseClient.sql("""
+                        SELECT id, orden_compra_id, producto_id, cantidad, precio_unitario, precio_total,
+                               fecha_creacion, fecha_actualizacion
+                        FROM detalle_orden_compra WHERE orden_compra_id = :ordenCompraId ORDER BY id""")
+                .bind("ordenCompraId", ordenCompraId)
+                .map(row -> {
+                    DetalleOrdenCompraDto detalle = new DetalleOrdenCompraDto(
+                            row.get("orden_compra_id", Long.class),
+                            row.get("producto_id", Long.class),
+                            row.get("cantidad", Integer.class),
+                            row.get("precio_unitario", BigDecimal.class),
+                            row.get("precio_total", BigDecimal.class));
+                    detalle.setId(row.get("id", Long.class));
+                    detalle.setFechaCreacion(instante(row, "fecha_creacion"));
+                    detalle.setFechaActualizacion(instante(row, "fecha_actualizacion"));
+                    return detalle;
+                })
+                .all();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM ordenes_compra WHERE id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    // MySQL devuelve datetime como LocalDateTime (UTC, igual que Hibernate) y H2 como OffsetDateTime
+    private static Instant instante(Readable row, String columna) {
+        Object valor = row.get(columna);
+        if (valor == null) {
+            return null;
+        }
+        if (valor instanceof Instant instant) {
+            return instant;
+        }
+        if (valor instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        if (valor instanceof ZonedDateTime zonedDateTime) {
+            return zonedDateTime.toInstant();
+        }
+        if (valor instanceof LocalDateTime localDateTime) {
+            return localDateTime.toInstant(ZoneOffset.UTC);
+        }
+        throw new IllegalStateException("Tipo de fecha no soportado en " + columna + ": " + valor.getClass());
+    }
+}
@@ -0,0 +1,73 @@
+package com.compras.ordenes.repository;
+
+import com.compras.ordenes.model.ResumenComprasEstado;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Mantenimiento de los resúmenes mensuales de compras. Cada mes se recalcula entero (borrar e insertar)
+ * a partir de las tablas activas y de archivo, con límites UTC [inicio, fin) que usan los índices por
+ * fecha_creacion.
+ */
+public interface ResumenComprasRepository extends Repository<ResumenComprasEstado, Integer> {
+
+    Optional<ResumenComprasEstado> findById(Integer id);
+
+    ResumenComprasEstado save(ResumenComprasEstado estado);
+
+    @Query("SELECT MIN(o.fechaCreacion) FROM OrdenCompra o")
+    Instant primeraOrden();
+
+    @Query("SELECT MIN(o.fechaCreacion) FROM OrdenCompraArchivada o")
+    Instant primeraOrdenArchivada();
+
+    @Query("SELECT p.mes FROM ResumenMesPendiente p WHERE p.mes < :hasta ORDER BY p.mes")
+    List<LocalDate> mesesPendientesAntesDe(LocalDate hasta);
+
+    @Modifying
+    @Query(value = "INSERT INTO resumen_compras_mes_pendiente (mes) VALUES (:mes) ON DUPLICATE KEY UPDATE mes = mes",
+           nativeQuery = true)
+    int marcarPendiente(LocalDate mes);
+
+    @Modifying
+    @Query(value = "DELETE FROM resumen_compras_mes_pendiente WHERE mes = :mes", nativeQuery = true)
+    int borrarPendiente(LocalDate mes);
+
+    @Modifying
+    @Query(value = "DELETE FROM resumen_gasto_proveedor_mes WHERE mes = :mes", nativeQuery = true)
+    int borrarGastoProveedor(LocalDate mes);
+
+    @Modifying
+    @Query(value = "DELETE FROM resumen_producto_mes WHERE mes = :mes", nativeQuery = true)
+    int borrarProductos(LocalDate mes);
+
+    @Modifying
+    @Query(value = "INSERT INTO resumen_gasto_proveedor_mes (mes, proveedor_id, ordenes, total) " +
+                   "SELECT :mes, o.proveedor_id, COUNT(*), SUM(o.total) " +
+                   "FROM (SELECT proveedor_id, total FROM ordenes_compra " +
+                   "      WHERE fecha_creacion >= :inicio AND fecha_creacion < :fin " +
+                   "      UNION ALL " +
+                   "      SELECT proveedor_id, total FROM ordenes_compra_archivo " +
+                   "      WHERE fecha_creacion >= :inicio AND fecha_creacion < :fin) o " +
+                   "GROUP BY o.proveedor_id",
+           nativeQuery = true)
+    int insertarGastoProveedor(LocalDate mes, Instant inicio, Instant fin);
+
+    @Modifying
+    @Query(value = "INSERT INTO resumen_producto_mes (mes, producto_id, cantidad, monto, precio_minimo, precio_maximo) " +
+                   "SELECT :mes, d.producto_id, SUM(d.cantidad), SUM(d.precio_total), MIN(d.precio_unitario), MAX(d.precio_unitario) " +
+                   "FROM (SELECT producto_id, cantidad, precio_unitario, precio_total FROM detalle_orden_compra " +
+                   "      WHERE fecha_creacion >= :inicio AND fecha_creacion < :fin " +
+                   "      UNION ALL " +
+                   "      SELECT producto_id, cantidad, precio_unitario, precio_total FROM detalle_orden_compra_archivo " +
+                   "      WHERE fecha_creacion >= :inicio AND fecha_creacion < :fin) d " +
+                   "GROUP BY d.producto_id",
+           nativeQuery = true)
+    int insertarProductos(LocalDate mes, Instant inicio, Instant fin);
+}
@@ -0,0 +1,84 @@
+package com.compras.ordenes.service;
+
+import com.compras.ordenes.dto.GastoProveedorMes;
+import com.compras.ordenes.dto.ProductoTop;
+import com.compras.ordenes.dto.TendenciaPrecioMes;
+import com.compras.ordenes.repository.AnaliticaRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Reparte el rango [desde, hasta) de cada consulta entre los meses completos que ya tienen resumen y los
+ * tramos que hay que agregar desde las tablas de órdenes. Con la ventana por defecto (12 meses) solo el
+ * mes en curso se lee de las tablas de órdenes.
+ */
+@Service
+public class AnaliticaService {
+
+    // Meses completos [resumenDesde, resumenHasta) con resumen; el resto de [desde, hasta) se agrega desde las órdenes
+    record Ventana(Instant desde, Instant hasta, Instant resumenDesde, Instant resumenHasta) {
+        LocalDate mesDesde() { return LocalDate.ofInstant(resumenDesde, ZoneOffset.UTC); }
+        LocalDate mesHasta() { return LocalDate.ofInstant(resumenHasta, ZoneOffset.UTC); }
+    }
+
+    private final AnaliticaRepository repository;
+    private final ResumenComprasService resumenService;
+
+    public AnaliticaService(AnaliticaRepository repository, ResumenComprasService resumenService) {
+        this.repository = repository;
+        this.resumenService = resumenService;
+    }
+
+    public List<GastoProveedorMes> gastoPorProveedorYMes(Instant desde, Instant hasta) {
+        Ventana v = ventana(desde, hasta);
+        return repository.gastoPorProveedorYMes(v.desde(), v.hasta(), v.resumenDesde(), v.resumenHasta(), v.mesDesde(), v.mesHasta());
+    }
+
+    public List<ProductoTop> topProductosPorCantidad(Instant desde, Instant hasta, int limite) {
+        Ventana v = ventana(desde, hasta);
+        return repository.topProductosPorCantidad(v.desde(), v.hasta(), v.resumenDesde(), v.resumenHasta(),
+                v.mesDesde(), v.mesHasta(), limite);
+    }
+
+    public List<ProductoTop> topProductosPorMonto(Instant desde, Instant hasta, int limite) {
+        Ventana v = ventana(desde, hasta);
+        return repository.topProductosPorMonto(v.desde(), v.hasta(), v.resumenDesde(), v.resumenHasta(),
+                v.mesDesde(), v.mesHasta(), limite);
+    }
+
+    public List<TendenciaPrecioMes> tendenciaPrecio(Long productoId, Instant desde, Instant hasta) {
+        Ventana v = ventana(desde, hasta);
+        return repository.tendenciaPrecio(productoId, v.desde(), v.hasta(), v.resumenDesde(), v.resumenHasta(),
+                v.mesDesde(), v.mesHasta());
+    }
+
+    Ventana ventana(Instant desde, Instant hasta) {
+        LocalDate consolidadoHasta = resumenService.consolidadoHasta();
+        if (consolidadoHasta == null) {
+            return new Ventana(desde, hasta, hasta, hasta);
+        }
+        // Primer inicio de mes dentro del rango y último inicio de mes que no lo supera ni pasa de lo consolidado
+        LocalDate primerDia = LocalDate.ofInstant(desde, ZoneOffset.UTC);
+        LocalDate mesDesde = primerDia.withDayOfMonth(1);
+        if (inicio(mesDesde).isBefore(desde)) {
+            mesDesde = mesDesde.plusMonths(1);
+        }
+        LocalDate mesHasta = LocalDate.ofInstant(hasta, ZoneOffset.UTC).withDayOfMonth(1);
+        if (consolidadoHasta.isBefore(mesHasta)) {
+            mesHasta = consolidadoHasta;
+        }
+        if (!mesDesde.isBefore(mesHasta)) {
+            // Ningún mes completo con resumen: todo el rango se agrega desde las órdenes
+            return new Ventana(desde, hasta, hasta, hasta);
+        }
+        return new Ventana(desde, hasta, inicio(mesDesde), inicio(mesHasta));
+    }
+
+    private static Instant inicio(LocalDate dia) {
+        return dia.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -0,0 +1,38 @@
+package com.compras.ordenes.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Mueve periódicamente las órdenes cerradas antiguas al archivo para mantener acotadas las tablas activas
+@Component
+@ConditionalOnProperty(name = "ordenes.archivo.habilitado", havingValue = "true", matchIfMissing = true)
+public class ArchivoOrdenesJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivoOrdenesJob.class);
+
+    private final ArchivoOrdenesService archivoService;
+
+    public ArchivoOrdenesJob(ArchivoOrdenesService archivoService) {
+        this.archivoService = archivoService;
+    }
+
+    @Scheduled(cron = "${ordenes.archivo.cron:0 0 3 * * *}")
+    public void ejecutar() {
+        long inicio = System.currentTimeMillis();
+        int total = 0;
+        List<Long> lote;
+        do {
+            lote = archivoService.buscarCandidatas();
+            total += archivoService.archivarLote(lote);
+        } while (lote.size() == archivoService.getTamanoLote());
+
+        if (total > 0) {
+            log.info("Archivo de órdenes: {} órdenes movidas en {} ms", total, System.currentTimeMillis() - inicio);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.compras.ordenes.service;
+
+import com.compras.ordenes.repository.DetalleOrdenCompraArchivadoRepository;
+import com.compras.ordenes.repository.DetalleOrdenCompraRepository;
+import com.compras.ordenes.repository.OrdenCompraArchivadaRepository;
+import com.compras.ordenes.repository.OrdenCompraRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class ArchivoOrdenesService {
+
+    private final OrdenCompraRepository ordenCompraRepository;
+    private final DetalleOrdenCompraRepository detalleRepository;
+    private final OrdenCompraArchivadaRepository ordenArchivadaRepository;
+    private final DetalleOrdenCompraArchivadoRepository detalleArchivadoRepository;
+    private final Duration antiguedad;
+    private final int tamanoLote;
+
+    public ArchivoOrdenesService(OrdenCompraRepository ordenCompraRepository,
+                                 DetalleOrdenCompraRepository detalleRepository,
+                                 OrdenCompraArchivadaRepository ordenArchivadaRepository,
+                                 DetalleOrdenCompraArchivadoRepository detalleArchivadoRepository,
+                                 @Value("${ordenes.archivo.antiguedad-dias:180}") long antiguedadDias,
+                                 @Value("${ordenes.archivo.tamano-lote:500}") int tamanoLote) {
+        this.ordenCompraRepository = ordenCompraRepository;
+        this.detalleRepository = detalleRepository;
+        this.ordenArchivadaRepository = ordenArchivadaRepository;
+        this.detalleArchivadoRepository = detalleArchivadoRepository;
+        this.antiguedad = Duration.ofDays(antiguedadDias);
+        this.tamanoLote = tamanoLote;
+    }
+
+    public int getTamanoLote() { return tamanoLote; }
+
+    @Transactional(readOnly = true)
+    public List<Long> buscarCandidatas() {
+        Instant limite = Instant.now().minus(antiguedad);
+        return ordenCompraRepository.findIdsCerradasAntesDe(limite, PageRequest.of(0, tamanoLote));
+    }
+
+    /**
+     * Copia las órdenes y sus detalles a las tablas de archivo y los elimina de las tablas
+     * activas en una sola transacción, de modo que un lote nunca queda a medias. Las candidatas se
+     * bloquean y se vuelven a filtrar: una orden reabierta o editada desde la búsqueda no se archiva.
+     */
+    @Transactional
+    public int archivarLote(List<Long> candidatas) {
+        if (candidatas.isEmpty()) {
+            return 0;
+        }
+        List<Long> ordenIds = ordenCompraRepository.bloquearCerradasAntesDe(candidatas, Instant.now().minus(antiguedad));
+        if (ordenIds.isEmpty()) {
+            return 0;
+        }
+        detalleArchivadoRepository.copiarDesdeDetalles(ordenIds);
+        int archivadas = ordenArchivadaRepository.copiarDesdeOrdenes(ordenIds);
+        detalleRepository.eliminarPorOrdenIds(ordenIds);
+        ordenCompraRepository.eliminarPorIds(ordenIds);
+        return archivadas;
+    }
+}
@@ -0,0 +1,40 @@
+package com.compras.ordenes.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Recorre todas las órdenes por lotes y corrige los totales que no coinciden con sus detalles
+@Component
+@ConditionalOnProperty(name = "ordenes.conciliacion.habilitado", havingValue = "true", matchIfMissing = true)
+public class ConciliacionTotalesJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ConciliacionTotalesJob.class);
+
+    private final ConciliacionTotalesService conciliacionService;
+
+    public ConciliacionTotalesJob(ConciliacionTotalesService conciliacionService) {
+        this.conciliacionService = conciliacionService;
+    }
+
+    @Scheduled(cron = "${ordenes.conciliacion.cron:0 30 2 * * *}")
+    public void ejecutar() {
+        long inicio = System.currentTimeMillis();
+        long revisadas = 0;
+        long corregidas = 0;
+        ConciliacionTotalesService.Lote lote;
+        Long desdeId = 0L;
+        do {
+            lote = conciliacionService.conciliarLote(desdeId);
+            revisadas += lote.revisadas();
+            corregidas += lote.corregidas();
+            desdeId = lote.ultimoId();
+        } while (lote.revisadas() == conciliacionService.getTamanoLote());
+
+        long millis = Math.max(1, System.currentTimeMillis() - inicio);
+        log.info("Conciliación de totales: {} órdenes revisadas, {} corregidas en {} ms ({} órdenes/s)",
+                revisadas, corregidas, millis, revisadas * 1000 / millis);
+    }
+}
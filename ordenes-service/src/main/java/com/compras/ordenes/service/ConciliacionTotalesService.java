@@ -0,0 +1,48 @@
+package com.compras.ordenes.service;
+
+import com.compras.ordenes.dto.TotalOrden;
+import com.compras.ordenes.repository.OrdenCompraRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class ConciliacionTotalesService {
+
+    public record Lote(Long ultimoId, int revisadas, int corregidas) {}
+
+    private final OrdenCompraRepository ordenCompraRepository;
+    private final ResumenComprasService resumenService;
+    private final int tamanoLote;
+
+    public ConciliacionTotalesService(OrdenCompraRepository ordenCompraRepository, ResumenComprasService resumenService,
+                                      @Value("${ordenes.conciliacion.tamano-lote:1000}") int tamanoLote) {
+        this.ordenCompraRepository = ordenCompraRepository;
+        this.resumenService = resumenService;
+        this.tamanoLote = tamanoLote;
+    }
+
+    public int getTamanoLote() { return tamanoLote; }
+
+    /**
+     * Compara el total de las órdenes con id mayor a desdeId con la suma de sus detalles y
+     * corrige las que difieren. Recorre por id (keyset) para que cada lote use la clave primaria.
+     * Una orden corregida de un mes cerrado marca el mes para recalcular su resumen.
+     */
+    @Transactional
+    public Lote conciliarLote(Long desdeId) {
+        List<TotalOrden> totales = ordenCompraRepository.totalesDesde(desdeId, tamanoLote);
+        int corregidas = 0;
+        for (TotalOrden orden : totales) {
+            if (orden.getTotal().compareTo(orden.getTotalDetalles()) != 0
+                    && ordenCompraRepository.corregirTotal(orden.getId(), orden.getTotal(), orden.getTotalDetalles()) > 0) {
+                corregidas++;
+                ordenCompraRepository.fechaCreacion(orden.getId()).ifPresent(resumenService::marcarCambio);
+            }
+        }
+        Long ultimoId = totales.isEmpty() ? desdeId : totales.get(totales.size() - 1).getId();
+        return new Lote(ultimoId, totales.size(), corregidas);
+    }
+}
@@ -0,0 +1,101 @@
+package com.compras.ordenes.service;
+
+import com.compras.ordenes.model.DetalleOrdenCompra;
+import com.compras.ordenes.repository.DetalleOrdenCompraRepository;
+import com.compras.ordenes.repository.OrdenCompraRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Altas, cambios y bajas de detalles de una orden. Cada operación ajusta el total de la orden
+ * por la diferencia en la misma transacción con un único UPDATE, sin recargar los detalles. El detalle
+ * se lee con bloqueo de fila para que dos cambios concurrentes no calculen la diferencia sobre el mismo
+ * precio total anterior. Si la orden o el detalle son de un mes ya cerrado, el mes queda marcado para
+ * recalcular sus resúmenes.
+ */
+@Service
+public class DetalleOrdenService {
+
+    private final OrdenCompraRepository ordenCompraRepository;
+    private final DetalleOrdenCompraRepository detalleRepository;
+    private final ResumenComprasService resumenService;
+
+    public DetalleOrdenService(OrdenCompraRepository ordenCompraRepository,
+                               DetalleOrdenCompraRepository detalleRepository,
+                               ResumenComprasService resumenService) {
+        this.ordenCompraRepository = ordenCompraRepository;
+        this.detalleRepository = detalleRepository;
+        this.resumenService = resumenService;
+    }
+
+    @Transactional
+    public Optional<DetalleOrdenCompra> agregar(Long ordenId, DetalleOrdenCompra detalle) {
+        Optional<Instant> fechaOrden = ordenCompraRepository.fechaCreacion(ordenId);
+        if (fechaOrden.isEmpty()) {
+            return Optional.empty();
+        }
+        validar(detalle);
+        // Siempre un alta: un id en el cuerpo haría que save() sobrescribiera un detalle existente, quizá de otra orden
+        detalle.setId(null);
+        detalle.setOrdenCompra(ordenCompraRepository.getReferenceById(ordenId));
+        detalle.setPrecioTotal(precioTotal(detalle));
+        DetalleOrdenCompra guardado = detalleRepository.save(detalle);
+        ordenCompraRepository.ajustarTotal(ordenId, guardado.getPrecioTotal(), Instant.now());
+        resumenService.marcarCambio(fechaOrden.get());
+        return Optional.of(guardado);
+    }
+
+    @Transactional
+    public Optional<DetalleOrdenCompra> actualizar(Long ordenId, Long detalleId, DetalleOrdenCompra cambios) {
+        validar(cambios);
+        return buscar(ordenId, detalleId).map(existing -> {
+            BigDecimal anterior = existing.getPrecioTotal();
+            existing.setProductoId(cambios.getProductoId());
+            existing.setCantidad(cambios.getCantidad());
+            existing.setPrecioUnitario(cambios.getPrecioUnitario());
+            existing.setPrecioTotal(precioTotal(cambios));
+            DetalleOrdenCompra guardado = detalleRepository.save(existing);
+            BigDecimal delta = guardado.getPrecioTotal().subtract(anterior);
+            if (delta.signum() != 0) {
+                ordenCompraRepository.ajustarTotal(ordenId, delta, Instant.now());
+                ordenCompraRepository.fechaCreacion(ordenId).ifPresent(resumenService::marcarCambio);
+            }
+            resumenService.marcarCambio(guardado.getFechaCreacion());
+            return guardado;
+        });
+    }
+
+    @Transactional
+    public boolean eliminar(Long ordenId, Long detalleId) {
+        return buscar(ordenId, detalleId).map(detalle -> {
+            detalleRepository.delete(detalle);
+            ordenCompraRepository.ajustarTotal(ordenId, detalle.getPrecioTotal().negate(), Instant.now());
+            ordenCompraRepository.fechaCreacion(ordenId).ifPresent(resumenService::marcarCambio);
+            resumenService.marcarCambio(detalle.getFechaCreacion());
+            return true;
+        }).orElse(false);
+    }
+
+    // El detalle debe pertenecer a la orden indicada en la ruta; queda bloqueado hasta el fin de la transacción
+    private Optional<DetalleOrdenCompra> buscar(Long ordenId, Long detalleId) {
+        return detalleRepository.bloquearDeOrden(detalleId, ordenId);
+    }
+
+    // 400 en lugar de un NullPointerException al calcular el precio total
+    private static void validar(DetalleOrdenCompra detalle) {
+        if (detalle.getProductoId() == null || detalle.getCantidad() == null || detalle.getPrecioUnitario() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "productoId, cantidad y precioUnitario son obligatorios");
+        }
+    }
+
+    // Se calcula en el servidor: un precioTotal enviado por el cliente se ignora
+    private static BigDecimal precioTotal(DetalleOrdenCompra detalle) {
+        return detalle.getPrecioUnitario().multiply(BigDecimal.valueOf(detalle.getCantidad()));
+    }
+}
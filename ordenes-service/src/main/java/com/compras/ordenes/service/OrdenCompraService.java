@@ -0,0 +1,47 @@
+package com.compras.ordenes.service;
+
+import com.compras.ordenes.model.DetalleOrdenCompra;
+import com.compras.ordenes.model.OrdenCompra;
+import com.compras.ordenes.repository.OrdenCompraRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Cambios y bajas de órdenes: marcan en la misma transacción los meses cerrados afectados (ver ResumenComprasService)
+@Service
+public class OrdenCompraService {
+
+    private final OrdenCompraRepository repository;
+    private final ResumenComprasService resumenService;
+
+    public OrdenCompraService(OrdenCompraRepository repository, ResumenComprasService resumenService) {
+        this.repository = repository;
+        this.resumenService = resumenService;
+    }
+
+    @Transactional
+    public Optional<OrdenCompra> actualizar(Long id, OrdenCompra cambios) {
+        return repository.findById(id).map(existing -> {
+            existing.setProveedorId(cambios.getProveedorId());
+            existing.setTotal(cambios.getTotal());
+            existing.setEstado(cambios.getEstado());
+            OrdenCompra guardada = repository.save(existing);
+            resumenService.marcarCambio(guardada.getFechaCreacion());
+            return guardada;
+        });
+    }
+
+    // Los detalles se borran en cascada: también cuentan en el resumen del mes en que se crearon
+    @Transactional
+    public boolean eliminar(Long id) {
+        return repository.findById(id).map(orden -> {
+            resumenService.marcarCambio(orden.getFechaCreacion());
+            for (DetalleOrdenCompra detalle : orden.getDetalles()) {
+                resumenService.marcarCambio(detalle.getFechaCreacion());
+            }
+            repository.delete(orden);
+            return true;
+        }).orElse(false);
+    }
+}
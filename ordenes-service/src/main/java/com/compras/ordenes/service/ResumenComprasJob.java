@@ -0,0 +1,53 @@
+package com.compras.ordenes.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Consolida los meses cerrados en las tablas de resumen que usa la analítica de compras
+@Component
+@ConditionalOnProperty(name = "ordenes.analitica.resumen.habilitado", havingValue = "true", matchIfMissing = true)
+public class ResumenComprasJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumenComprasJob.class);
+
+    private final ResumenComprasService resumenService;
+
+    public ResumenComprasJob(ResumenComprasService resumenService) {
+        this.resumenService = resumenService;
+    }
+
+    @Scheduled(cron = "${ordenes.analitica.resumen.cron:0 30 3 * * *}")
+    public void ejecutar() {
+        consolidar(resumenService.mesesPorConsolidar());
+    }
+
+    // Meses cerrados modificados después de resumirse (órdenes, detalles o conciliación de totales)
+    @Scheduled(fixedDelayString = "${ordenes.analitica.resumen.pendientes-ms:300000}")
+    public void recalcularPendientes() {
+        consolidar(resumenService.mesesPendientes());
+    }
+
+    private void consolidar(List<LocalDate> meses) {
+        long inicio = System.currentTimeMillis();
+        for (LocalDate mes : meses) {
+            resumenService.desmarcar(mes);
+            try {
+                resumenService.consolidarMes(mes);
+            } catch (RuntimeException e) {
+                // La marca ya se borró: se repone para que el mes se vuelva a intentar
+                resumenService.marcarPendiente(mes);
+                throw e;
+            }
+        }
+        if (!meses.isEmpty()) {
+            log.info("Resumen de compras: {} meses consolidados ({} a {}) en {} ms",
+                    meses.size(), meses.get(0), meses.get(meses.size() - 1), System.currentTimeMillis() - inicio);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.compras.ordenes.service;
+
+import com.compras.ordenes.model.ResumenComprasEstado;
+import com.compras.ordenes.repository.ResumenComprasRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Calcula los resúmenes mensuales de compras de los meses UTC ya cerrados. Los meses se consolidan en
+ * orden, así que el estado solo guarda hasta dónde llegan (consolidadoHasta). Los últimos
+ * meses-recalculo meses cerrados se vuelven a calcular en cada ejecución nocturna.
+ * <p>
+ * Las escrituras sobre órdenes o detalles de un mes cerrado (incluida la conciliación de totales) lo
+ * marcan como pendiente en su misma transacción (marcarCambio); los meses pendientes se recalculan
+ * en la siguiente pasada de ResumenComprasJob, sea cual sea su antigüedad.
+ */
+@Service
+public class ResumenComprasService {
+
+    private final ResumenComprasRepository repository;
+    private final int mesesRecalculo;
+
+    public ResumenComprasService(ResumenComprasRepository repository,
+                                 @Value("${ordenes.analitica.resumen.meses-recalculo:2}") int mesesRecalculo) {
+        this.repository = repository;
+        this.mesesRecalculo = mesesRecalculo;
+    }
+
+    // Todos los meses anteriores a la fecha devuelta tienen resumen; null si todavía no hay ninguno
+    public LocalDate consolidadoHasta() {
+        return repository.findById(ResumenComprasEstado.ID).map(ResumenComprasEstado::getConsolidadoHasta).orElse(null);
+    }
+
+    // Meses cerrados a (re)calcular, en orden: desde la primera orden si no hay resumen todavía, más los pendientes
+    public List<LocalDate> mesesPorConsolidar() {
+        LocalDate mesActual = mesActual();
+        LocalDate hasta = consolidadoHasta();
+        LocalDate desde = hasta != null ? hasta.minusMonths(mesesRecalculo) : primerMes();
+        TreeSet<LocalDate> meses = new TreeSet<>(mesesPendientes());
+        for (LocalDate mes = desde; mes != null && mes.isBefore(mesActual); mes = mes.plusMonths(1)) {
+            meses.add(mes);
+        }
+        return new ArrayList<>(meses);
+    }
+
+    // Meses ya resumidos con cambios posteriores. Los que aún no tienen resumen entran en la consolidación ordenada
+    public List<LocalDate> mesesPendientes() {
+        LocalDate hasta = consolidadoHasta();
+        return hasta != null ? repository.mesesPendientesAntesDe(hasta) : List.of();
+    }
+
+    // En la transacción de la escritura: si esta se revierte, la marca tampoco queda
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void marcarCambio(Instant fechaCreacion) {
+        if (fechaCreacion == null) {
+            return;
+        }
+        LocalDate mes = LocalDate.ofInstant(fechaCreacion, ZoneOffset.UTC).withDayOfMonth(1);
+        if (mes.isBefore(mesActual())) {
+            repository.marcarPendiente(mes);
+        }
+    }
+
+    // Antes de recalcular y en su propia transacción: un cambio que confirme después vuelve a marcar el mes
+    @Transactional
+    public void desmarcar(LocalDate mes) {
+        repository.borrarPendiente(mes);
+    }
+
+    @Transactional
+    public void marcarPendiente(LocalDate mes) {
+        repository.marcarPendiente(mes);
+    }
+
+    @Transactional
+    public void consolidarMes(LocalDate mes) {
+        Instant inicio = mes.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant fin = mes.plusMonths(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        repository.borrarGastoProveedor(mes);
+        repository.borrarProductos(mes);
+        repository.insertarGastoProveedor(mes, inicio, fin);
+        repository.insertarProductos(mes, inicio, fin);
+
+        ResumenComprasEstado estado = repository.findById(ResumenComprasEstado.ID)
+                .orElseGet(() -> new ResumenComprasEstado(mes));
+        if (!estado.getConsolidadoHasta().isAfter(mes)) {
+            estado.setConsolidadoHasta(mes.plusMonths(1));
+        }
+        repository.save(estado);
+    }
+
+    private static LocalDate mesActual() {
+        return LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+    }
+
+    private LocalDate primerMes() {
+        Instant activa = repository.primeraOrden();
+        Instant archivada = repository.primeraOrdenArchivada();
+        Instant primera = activa == null ? archivada
+                : archivada == null ? activa
+                : activa.isBefore(archivada) ? activa : archivada;
+        return primera != null ? LocalDate.ofInstant(primera, ZoneOffset.UTC).withDayOfMonth(1) : null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.compras.productos.config;
+
+import com.compras.productos.model.Producto;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Caché de segundo nivel de Hibernate sobre JCache (Caffeine), solo para la entidad Producto por id. La
+ * región se crea aquí con tamaño máximo, TTL y estadísticas en lugar de dejar que Hibernate la cree sin
+ * límite. La caché es local a cada instancia: una escritura en otra instancia no la invalida y el TTL
+ * acota cuánto tiempo puede servirse el valor anterior. Los listados no usan la caché de consultas
+ * porque se sirven con ETag calculado en la base de datos; una actualización sobre una entidad obsoleta
+ * falla por @Version en lugar de pisar el cambio de otra instancia.
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerSegundoNivel(@Value("${cache.segundo-nivel.ttl:10s}") Duration ttl,
+                                                 @Value("${cache.segundo-nivel.max-entradas:10000}") long maxEntradas) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        crearRegion(cacheManager, Producto.class.getName(), ttl, maxEntradas);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelCustomizer(CacheManager cacheManagerSegundoNivel) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManagerSegundoNivel);
+    }
+
+    private static void crearRegion(CacheManager cacheManager, String nombre, Duration ttl, long maxEntradas) {
+        if (cacheManager.getCache(nombre) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+        configuracion.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuracion.setMaximumSize(OptionalLong.of(maxEntradas));
+        configuracion.setStatisticsEnabled(true);
+        cacheManager.createCache(nombre, configuracion);
+    }
+}
@@ -1,11 +1,19 @@
 package com.compras.productos.controller;
 
+import com.compras.productos.dto.StockDeltaRequest;
+import com.compras.productos.dto.VersionCatalogo;
 import com.compras.productos.model.Producto;
 import com.compras.productos.repository.ProductoRepository;
+import com.compras.productos.service.ProductoService;
+import com.compras.productos.service.StockDeltaService;
+import com.compras.productos.service.VersionCatalogoService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,14 +22,27 @@ import java.util.List;
 @Tag(name = "Productos", description = "API CRUD de Productos")
 public class ProductoController {
     private final ProductoRepository repository;
-    public ProductoController(ProductoRepository repository) { this.repository = repository; }
+    private final ProductoService productoService;
+    private final VersionCatalogoService versionCatalogo;
+    private final StockDeltaService stockDeltaService;
+
+    public ProductoController(ProductoRepository repository, ProductoService productoService,
+                              VersionCatalogoService versionCatalogo, StockDeltaService stockDeltaService) {
+        this.repository = repository;
+        this.productoService = productoService;
+        this.versionCatalogo = versionCatalogo;
+        this.stockDeltaService = stockDeltaService;
+    }
 
     @GetMapping
-    public List<Producto> list(@RequestParam(required = false) Long proveedorId) {
-        if (proveedorId != null) {
-            return repository.findByProveedorIdAndEstadoTrue(proveedorId);
-        }
-        return repository.findByEstadoTrue();
+    public ResponseEntity<List<Producto>> list(@RequestParam(required = false) Long proveedorId, WebRequest request) {
+        return listarActivos(proveedorId, request);
+    }
+
+    // Resolución en lote por ids, incluidos inactivos (la usa /bff/ordenes en el gateway)
+    @GetMapping("/lote")
+    public List<Producto> lote(@RequestParam List<Long> ids) {
+        return repository.findAllById(ids);
     }
 
     @GetMapping("/{id}")
@@ -30,31 +51,47 @@ public class ProductoController {
     }
 
     @GetMapping("/proveedor/{proveedorId}")
-    public List<Producto> getByProveedor(@PathVariable Long proveedorId) {
-        return repository.findByProveedorIdAndEstadoTrue(proveedorId);
+    public ResponseEntity<List<Producto>> getByProveedor(@PathVariable Long proveedorId, WebRequest request) {
+        return listarActivos(proveedorId, request);
     }
 
     @PostMapping
     public ResponseEntity<Producto> create(@RequestBody Producto body) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(repository.save(body));
+        Producto saved = productoService.crear(body);
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Producto> update(@PathVariable Long id, @RequestBody Producto body) {
-        return repository.findById(id).map(existing -> {
-            existing.setNombre(body.getNombre());
-            existing.setPrecioUnitario(body.getPrecioUnitario());
-            existing.setPrecioCompra(body.getPrecioCompra());
-            existing.setStock(body.getStock());
-            existing.setProveedorId(body.getProveedorId());
-            existing.setEstado(body.getEstado());
-            return ResponseEntity.ok(repository.save(existing));
-        }).orElse(ResponseEntity.notFound().build());
+        return productoService.actualizar(id, body).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    // Ajuste de stock diferido: 202 en cuanto el delta está en el diario; se aplica en el próximo volcado.
+    // No se consulta el producto por cada delta: los de productos inexistentes se descartan (y registran) al volcar
+    @PostMapping("/{id}/stock-delta")
+    public ResponseEntity<Void> stockDelta(@PathVariable Long id, @RequestBody StockDeltaRequest body) {
+        stockDeltaService.registrar(id, body.delta());
+        return ResponseEntity.accepted().build();
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        return repository.findById(id).map(p -> { repository.delete(p); return new ResponseEntity<Void>(HttpStatus.NO_CONTENT); })
-                .orElse(ResponseEntity.notFound().build());
+        return productoService.eliminar(id)
+                ? new ResponseEntity<Void>(HttpStatus.NO_CONTENT)
+                : ResponseEntity.notFound().build();
+    }
+
+    // GET condicional: si el ETag/Last-Modified del cliente coincide se responde 304 sin consultar la lista.
+    // El ETag es la versión de todo el catálogo (ver VersionCatalogoService) y no depende del formato
+    // (JSON/CBOR): Vary: Accept evita que una caché sirva uno por otro
+    private ResponseEntity<List<Producto>> listarActivos(Long proveedorId, WebRequest request) {
+        VersionCatalogo version = versionCatalogo.actual();
+        if (request.checkNotModified(version.etag(), version.ultimaActualizacionMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        List<Producto> productos = proveedorId != null
+                ? repository.findByProveedorIdAndEstadoTrue(proveedorId)
+                : repository.findByEstadoTrue();
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(productos);
     }
 }
@@ -0,0 +1,31 @@
+package com.compras.productos.controller;
+
+import com.compras.productos.model.Producto;
+import com.compras.productos.repository.ProductoLecturaReactivaRepository;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+/**
+ * Lectura en flujo sobre R2DBC, en application/x-ndjson (o text/event-stream): cada fila se escribe al
+ * llegar, con contrapresión, y la petición no retiene un hilo de Tomcat mientras espera a la base de datos.
+ * No se ofrece application/json: Spring MVC acumularía todo el Flux para escribir un único arreglo.
+ */
+@RestController
+@RequestMapping("/productos/flujo")
+@Tag(name = "Productos (flujo)", description = "Lectura no bloqueante del catálogo de productos activos")
+public class ProductoFlujoController {
+    private final ProductoLecturaReactivaRepository repository;
+
+    public ProductoFlujoController(ProductoLecturaReactivaRepository repository) {
+        this.repository = repository;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Producto> list(@RequestParam(required = false) Long proveedorId) {
+        return proveedorId != null
+                ? repository.findByProveedorIdAndEstadoTrue(proveedorId)
+                : repository.findByEstadoTrue();
+    }
+}
@@ -0,0 +1,5 @@
+package com.compras.productos.dto;
+
+// Cuerpo de POST /productos/{id}/stock-delta: unidades a sumar (positivas) o restar (negativas)
+public record StockDeltaRequest(int delta) {
+}
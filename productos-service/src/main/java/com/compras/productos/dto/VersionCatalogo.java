@@ -0,0 +1,15 @@
+package com.compras.productos.dto;
+
+import java.time.Instant;
+
+// Versión de un listado: contador persistido del catálogo y fecha de su último incremento
+public record VersionCatalogo(Long version, Instant ultimaActualizacion) {
+
+    public long ultimaActualizacionMillis() {
+        return ultimaActualizacion != null ? ultimaActualizacion.toEpochMilli() : 0L;
+    }
+
+    public String etag() {
+        return "W/\"" + version + "\"";
+    }
+}
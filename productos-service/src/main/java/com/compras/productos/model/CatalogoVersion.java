@@ -0,0 +1,24 @@
+package com.compras.productos.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// Versión de un catálogo (ETag de sus listados): cada escritura del catálogo la incrementa en su transacción
+@Entity
+@Table(name = "catalogo_version")
+public class CatalogoVersion {
+    @Id
+    @Column(length = 50)
+    private String catalogo;
+    @Column(nullable = false)
+    private Long version;
+    private Instant fechaActualizacion;
+
+    // getters & setters
+    public String getCatalogo() { return catalogo; }
+    public void setCatalogo(String catalogo) { this.catalogo = catalogo; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    public Instant getFechaActualizacion() { return fechaActualizacion; }
+    public void setFechaActualizacion(Instant fechaActualizacion) { this.fechaActualizacion = fechaActualizacion; }
+}
@@ -0,0 +1,30 @@
+package com.compras.productos.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// Último segmento del diario de stock de cada instancia ya aplicado a la base de datos
+@Entity
+@Table(name = "stock_diario_volcado")
+public class DiarioStockVolcado {
+    @Id
+    @Column(length = 150)
+    private String instancia;
+    @Column(name = "ultimo_segmento", nullable = false)
+    private Long ultimoSegmento;
+    private Instant fechaActualizacion;
+
+    public DiarioStockVolcado() {}
+
+    public DiarioStockVolcado(String instancia) {
+        this.instancia = instancia;
+    }
+
+    // getters & setters
+    public String getInstancia() { return instancia; }
+    public void setInstancia(String instancia) { this.instancia = instancia; }
+    public Long getUltimoSegmento() { return ultimoSegmento; }
+    public void setUltimoSegmento(Long ultimoSegmento) { this.ultimoSegmento = ultimoSegmento; }
+    public Instant getFechaActualizacion() { return fechaActualizacion; }
+    public void setFechaActualizacion(Instant fechaActualizacion) { this.fechaActualizacion = fechaActualizacion; }
+}
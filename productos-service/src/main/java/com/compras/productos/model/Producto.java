@@ -1,11 +1,15 @@
 package com.compras.productos.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
 @Table(name = "productos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Producto {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,6 +28,10 @@ public class Producto {
     private Boolean estado = true;
     private Instant fechaCreacion;
     private Instant fechaActualizacion;
+    // Bloqueo optimista: una actualización basada en una copia obsoleta (p. ej. de la caché de otra instancia) falla
+    @Version
+    @Column(nullable = false)
+    private Long version;
 
     @PrePersist
     public void prePersist() {
@@ -52,4 +60,6 @@ public class Producto {
     public void setFechaCreacion(Instant fechaCreacion) { this.fechaCreacion = fechaCreacion; }
     public Instant getFechaActualizacion() { return fechaActualizacion; }
     public void setFechaActualizacion(Instant fechaActualizacion) { this.fechaActualizacion = fechaActualizacion; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -0,0 +1,14 @@
+package com.compras.productos.repository;
+
+import com.compras.productos.dto.VersionCatalogo;
+import com.compras.productos.model.CatalogoVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface CatalogoVersionRepository extends JpaRepository<CatalogoVersion, String> {
+
+    @Query("SELECT new com.compras.productos.dto.VersionCatalogo(c.version, c.fechaActualizacion) FROM CatalogoVersion c WHERE c.catalogo = :catalogo")
+    Optional<VersionCatalogo> version(String catalogo);
+}
@@ -0,0 +1,7 @@
+package com.compras.productos.repository;
+
+import com.compras.productos.model.DiarioStockVolcado;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DiarioStockVolcadoRepository extends JpaRepository<DiarioStockVolcado, String> {
+}
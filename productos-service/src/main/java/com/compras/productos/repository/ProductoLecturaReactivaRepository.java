@@ -0,0 +1,82 @@
+package com.compras.productos.repository;
+
+import com.compras.productos.model.Producto;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Lecturas no bloqueantes sobre R2DBC. Las filas se emiten según las pide el suscriptor,
+ * sin cargar la lista completa en memoria ni ocupar un hilo mientras espera a la base de datos.
+ * Las escrituras siguen por JPA (ProductoRepository).
+ */
+@Repository
+public class ProductoLecturaReactivaRepository {
+    private static final String COLUMNAS = """
+            SELECT id, nombre, precio_unitario, precio_compra, stock, proveedor_id, estado,
+                   fecha_creacion, fecha_actualizacion, version
+            FROM productos""";
+
+    private final DatabaseClient databaseClient;
+
+    public ProductoLecturaReactivaRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Producto> findByEstadoTrue() {
+        return databaseClient.sql(COLUMNAS + " WHERE estado = TRUE ORDER BY id")
+                .map(ProductoLecturaReactivaRepository::producto)
+                .all();
+    }
+
+    public Flux<Producto> findByProveedorIdAndEstadoTrue(Long proveedorId) {
+        return databaseClient.sql(COLUMNAS + " WHERE proveedor_id = :proveedorId AND estado = TRUE ORDER BY id")
+                .bind("proveedorId", proveedorId)
+                .map(ProductoLecturaReactivaRepository::producto)
+                .all();
+    }
+
+    private static Producto producto(Readable row) {
+        Producto producto = new Producto();
+        producto.setId(row.get("id", Long.class));
+        producto.setNombre(row.get("nombre", String.class));
+        producto.setPrecioUnitario(row.get("precio_unitario", BigDecimal.class));
+        producto.setPrecioCompra(row.get("precio_compra", BigDecimal.class));
+        producto.setStock(row.get("stock", Integer.class));
+        producto.setProveedorId(row.get("proveedor_id", Long.class));
+        producto.setEstado(row.get("estado", Boolean.class));
+        producto.setFechaCreacion(instante(row, "fecha_creacion"));
+        producto.setFechaActualizacion(instante(row, "fecha_actualizacion"));
+        producto.setVersion(row.get("version", Long.class));
+        return producto;
+    }
+
+    // MySQL devuelve datetime como LocalDateTime (UTC, igual que Hibernate) y H2 como OffsetDateTime
+    private static Instant instante(Readable row, String columna) {
+        Object valor = row.get(columna);
+        if (valor == null) {
+            return null;
+        }
+        if (valor instanceof Instant instant) {
+            return instant;
+        }
+        if (valor instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        if (valor instanceof ZonedDateTime zonedDateTime) {
+            return zonedDateTime.toInstant();
+        }
+        if (valor instanceof LocalDateTime localDateTime) {
+            return localDateTime.toInstant(ZoneOffset.UTC);
+        }
+        throw new IllegalStateException("Tipo de fecha no soportado en " + columna + ": " + valor.getClass());
+    }
+}
@@ -6,5 +6,6 @@ import java.util.List;
 
 public interface ProductoRepository extends JpaRepository<Producto, Long> {
     List<Producto> findByProveedorIdAndEstadoTrue(Long proveedorId);
+
     List<Producto> findByEstadoTrue();
 }
@@ -0,0 +1,177 @@
+package com.compras.productos.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Diario local de solo anexado de los deltas de stock, dividido en segmentos numerados
+ * (stock-000000000001.log, ...). Un segmento se elimina cuando su contenido ya está en la base de
+ * datos. Con fsync activo cada anotación queda en disco antes de responder; los escritores
+ * concurrentes comparten el mismo fsync (commit en grupo). El directorio queda bloqueado (FileLock sobre
+ * .lock) mientras el diario está abierto: dos procesos no pueden compartirlo.
+ */
+class DiarioStock implements AutoCloseable {
+    private static final Pattern SEGMENTO = Pattern.compile("stock-(\\d{12})\\.log");
+
+    private final Path directorio;
+    private final boolean fsync;
+    private final Object sincronizacion = new Object();
+    private final FileChannel canalBloqueo;
+    private final FileLock bloqueo;
+    private FileChannel canal;
+    private long segmentoActual;
+    private long escrito;
+    private long sincronizado;
+
+    DiarioStock(Path directorio, boolean fsync, long ultimoAplicado) throws IOException {
+        this.directorio = directorio;
+        this.fsync = fsync;
+        Files.createDirectories(directorio);
+        this.canalBloqueo = FileChannel.open(directorio.resolve(".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock adquirido;
+        try {
+            adquirido = canalBloqueo.tryLock();
+        } catch (OverlappingFileLockException e) {
+            adquirido = null;
+        }
+        if (adquirido == null) {
+            canalBloqueo.close();
+            throw new IllegalStateException("El diario de stock " + directorio + " está en uso por otro proceso");
+        }
+        this.bloqueo = adquirido;
+        eliminarHasta(ultimoAplicado);
+        long ultimo = ultimoAplicado;
+        for (long segmento : segmentos()) {
+            ultimo = Math.max(ultimo, segmento);
+        }
+        abrir(ultimo + 1);
+    }
+
+    // Segmentos cerrados que siguen en disco: su contenido aún no está en la base de datos
+    List<Long> segmentosAnteriores() throws IOException {
+        List<Long> anteriores = new ArrayList<>();
+        for (long segmento : segmentos()) {
+            if (segmento < segmentoActual) {
+                anteriores.add(segmento);
+            }
+        }
+        return anteriores;
+    }
+
+    // Segmentos existentes en disco, en orden
+    private List<Long> segmentos() throws IOException {
+        List<Long> segmentos = new ArrayList<>();
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            archivos.forEach(archivo -> {
+                Matcher m = SEGMENTO.matcher(archivo.getFileName().toString());
+                if (m.matches()) {
+                    segmentos.add(Long.parseLong(m.group(1)));
+                }
+            });
+        }
+        segmentos.sort(null);
+        return segmentos;
+    }
+
+    // Solo cuentan las líneas terminadas en salto de línea: una línea incompleta al final (caída a mitad
+    // de escritura) nunca se confirmó al cliente
+    void leer(long segmento, BiConsumer<Long, Integer> consumidor) throws IOException {
+        String contenido = Files.readString(archivo(segmento), StandardCharsets.US_ASCII);
+        int fin = contenido.lastIndexOf('\n');
+        if (fin < 0) {
+            return;
+        }
+        for (String linea : contenido.substring(0, fin).split("\n")) {
+            int separador = linea.indexOf(';');
+            if (separador > 0) {
+                consumidor.accept(Long.parseLong(linea.substring(0, separador)),
+                        Integer.parseInt(linea.substring(separador + 1)));
+            }
+        }
+    }
+
+    void anotar(long productoId, int delta) throws IOException {
+        ByteBuffer linea = ByteBuffer.wrap((productoId + ";" + delta + "\n").getBytes(StandardCharsets.US_ASCII));
+        long posicion;
+        synchronized (this) {
+            while (linea.hasRemaining()) {
+                canal.write(linea);
+            }
+            escrito += linea.capacity();
+            posicion = escrito;
+        }
+        if (fsync) {
+            sincronizar(posicion);
+        }
+    }
+
+    // Cierra el segmento actual y abre el siguiente; devuelve el número del segmento cerrado. El siguiente
+    // se abre antes de cerrar el actual: si falla la apertura el diario sigue escribiendo en el actual
+    synchronized long rotar() throws IOException {
+        long cerrado = segmentoActual;
+        canal.force(false);
+        FileChannel anterior = canal;
+        abrir(cerrado + 1);
+        anterior.close();
+        return cerrado;
+    }
+
+    void eliminarHasta(long segmento) throws IOException {
+        for (long existente : segmentos()) {
+            if (existente <= segmento && existente != segmentoActual) {
+                Files.deleteIfExists(archivo(existente));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            canal.force(false);
+            canal.close();
+        } finally {
+            bloqueo.release();
+            canalBloqueo.close();
+        }
+    }
+
+    private void sincronizar(long posicion) throws IOException {
+        synchronized (sincronizacion) {
+            if (sincronizado >= posicion) {
+                return;
+            }
+            long hasta;
+            FileChannel actual;
+            synchronized (this) {
+                hasta = escrito;
+                actual = canal;
+            }
+            actual.force(false);
+            sincronizado = hasta;
+        }
+    }
+
+    private void abrir(long segmento) throws IOException {
+        canal = FileChannel.open(archivo(segmento), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentoActual = segmento;
+        escrito = canal.size();
+        sincronizado = escrito;
+    }
+
+    private Path archivo(long segmento) {
+        return directorio.resolve(String.format("stock-%012d.log", segmento));
+    }
+}
@@ -0,0 +1,56 @@
+package com.compras.productos.service;
+
+import com.compras.productos.model.Producto;
+import com.compras.productos.repository.ProductoRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Escrituras del catálogo: cada una incrementa la versión del catálogo en su misma transacción
+@Service
+public class ProductoService {
+    private final ProductoRepository repository;
+    private final VersionCatalogoService versionCatalogo;
+
+    public ProductoService(ProductoRepository repository, VersionCatalogoService versionCatalogo) {
+        this.repository = repository;
+        this.versionCatalogo = versionCatalogo;
+    }
+
+    @Transactional
+    public Producto crear(Producto producto) {
+        Producto guardado = repository.save(producto);
+        versionCatalogo.incrementar();
+        return guardado;
+    }
+
+    @Transactional
+    public Optional<Producto> actualizar(Long id, Producto cambios) {
+        return repository.findById(id).map(existente -> {
+            // Si el cliente envía la versión que leyó, un cambio intermedio se rechaza con 409
+            if (cambios.getVersion() != null && !cambios.getVersion().equals(existente.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Producto.class, id);
+            }
+            existente.setNombre(cambios.getNombre());
+            existente.setPrecioUnitario(cambios.getPrecioUnitario());
+            existente.setPrecioCompra(cambios.getPrecioCompra());
+            existente.setStock(cambios.getStock());
+            existente.setProveedorId(cambios.getProveedorId());
+            existente.setEstado(cambios.getEstado());
+            Producto guardado = repository.save(existente);
+            versionCatalogo.incrementar();
+            return guardado;
+        });
+    }
+
+    @Transactional
+    public boolean eliminar(Long id) {
+        return repository.findById(id).map(existente -> {
+            repository.delete(existente);
+            versionCatalogo.incrementar();
+            return true;
+        }).orElse(false);
+    }
+}
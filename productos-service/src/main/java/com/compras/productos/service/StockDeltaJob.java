@@ -0,0 +1,19 @@
+package com.compras.productos.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Volcado periódico de los deltas de stock acumulados (además del volcado por umbral)
+@Component
+public class StockDeltaJob {
+    private final StockDeltaService stockDeltaService;
+
+    public StockDeltaJob(StockDeltaService stockDeltaService) {
+        this.stockDeltaService = stockDeltaService;
+    }
+
+    @Scheduled(fixedDelayString = "${stock.delta.intervalo-ms:200}")
+    public void volcar() {
+        stockDeltaService.volcar();
+    }
+}
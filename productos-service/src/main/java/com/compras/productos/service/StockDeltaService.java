@@ -0,0 +1,204 @@
+package com.compras.productos.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ajustes de stock por delta con escritura diferida. Cada delta se anota en el diario local y se
+ * suma a un LongAdder por producto; el volcado (cada stock.delta.intervalo-ms o al llegar a
+ * stock.delta.umbral deltas) aplica en un lote JDBC un UPDATE por producto con la suma acumulada.
+ * Al arrancar se recargan los segmentos del diario que aún no llegaron a la base de datos.
+ * <p>
+ * El diario se abre y se cierra como SmartLifecycle en una fase anterior a la del servidor web: se abre
+ * antes de aceptar peticiones y, al parar, el volcado final y el cierre ocurren cuando el servidor ya
+ * terminó de atender las peticiones en curso (server.shutdown=graceful).
+ */
+@Service
+public class StockDeltaService implements SmartLifecycle {
+    // Por debajo de WebServerStartStopLifecycle (SmartLifecycle.DEFAULT_PHASE - 2048)
+    private static final int FASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final Logger log = LoggerFactory.getLogger(StockDeltaService.class);
+
+    private final StockVolcadoService volcadoService;
+    private final String instancia;
+    private final int umbral;
+    private final Path directorio;
+    private final boolean fsync;
+    private volatile DiarioStock diario;
+    // Los registros toman el candado compartido; el corte para volcar toma el exclusivo, de modo que
+    // todo lo anotado en el segmento cerrado está en el mapa que se vuelca
+    private final ReentrantReadWriteLock corte = new ReentrantReadWriteLock();
+    private final ReentrantLock volcando = new ReentrantLock();
+    private final AtomicInteger sinVolcar = new AtomicInteger();
+    private final AtomicBoolean volcadoSolicitado = new AtomicBoolean();
+    private final ExecutorService ejecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "stock-volcado");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private volatile Map<Long, LongAdder> pendientes = new ConcurrentHashMap<>();
+
+    public StockDeltaService(StockVolcadoService volcadoService,
+                             @Value("${stock.diario.directorio:./data/stock-diario}") String directorio,
+                             @Value("${stock.diario.fsync:true}") boolean fsync,
+                             @Value("${stock.diario.instancia:${spring.application.name}}") String instancia,
+                             @Value("${stock.delta.umbral:5000}") int umbral) {
+        this.volcadoService = volcadoService;
+        this.instancia = instancia;
+        this.umbral = umbral;
+        this.directorio = Path.of(directorio);
+        this.fsync = fsync;
+    }
+
+    // Falla el arranque si el directorio del diario está bloqueado por otro proceso
+    @Override
+    public void start() {
+        try {
+            DiarioStock abierto = new DiarioStock(directorio, fsync, volcadoService.ultimoSegmentoAplicado(instancia));
+            List<Long> recuperados = abierto.segmentosAnteriores();
+            for (long segmento : recuperados) {
+                abierto.leer(segmento, this::acumular);
+            }
+            if (!recuperados.isEmpty()) {
+                log.info("Diario de stock: {} segmentos pendientes recuperados de {}", recuperados.size(), directorio);
+            }
+            diario = abierto;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el diario de stock en " + directorio, e);
+        }
+    }
+
+    // El servidor web ya paró: se espera al volcado en curso y se vuelca lo que quede antes de cerrar
+    @Override
+    public void stop() {
+        ejecutor.shutdown();
+        volcando.lock();
+        try {
+            volcarPendientes();
+            diario.close();
+        } catch (IOException e) {
+            log.warn("No se pudo cerrar el diario de stock: {}", e.getMessage());
+        } finally {
+            diario = null;
+            volcando.unlock();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return diario != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return FASE;
+    }
+
+    public void registrar(Long productoId, int delta) {
+        corte.readLock().lock();
+        try {
+            DiarioStock actual = diario;
+            if (actual == null) {
+                throw new IllegalStateException("El diario de stock no está abierto");
+            }
+            actual.anotar(productoId, delta);
+            acumular(productoId, delta);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo anotar el delta de stock en el diario", e);
+        } finally {
+            corte.readLock().unlock();
+        }
+        if (sinVolcar.incrementAndGet() >= umbral && volcadoSolicitado.compareAndSet(false, true)) {
+            try {
+                ejecutor.execute(() -> {
+                    volcadoSolicitado.set(false);
+                    volcar();
+                });
+            } catch (RejectedExecutionException e) {
+                // Parando: el delta ya está en el diario y entra en el volcado final de stop()
+                volcadoSolicitado.set(false);
+            }
+        }
+    }
+
+    public void volcar() {
+        if (!volcando.tryLock()) {
+            return;
+        }
+        try {
+            if (diario != null) {
+                volcarPendientes();
+            }
+        } finally {
+            volcando.unlock();
+        }
+    }
+
+    // Requiere el candado volcando
+    private void volcarPendientes() {
+        Map<Long, LongAdder> lote;
+        long segmento;
+        corte.writeLock().lock();
+        try {
+            if (pendientes.isEmpty()) {
+                return;
+            }
+            // Primero se rota: si falla, el mapa sigue intacto y el diario sigue abierto en el segmento actual
+            segmento = diario.rotar();
+            lote = pendientes;
+            pendientes = new ConcurrentHashMap<>();
+            sinVolcar.set(0);
+        } catch (IOException e) {
+            log.warn("No se pudo rotar el diario de stock: {}", e.getMessage());
+            return;
+        } finally {
+            corte.writeLock().unlock();
+        }
+
+        // Sumas en long: el desbordamiento de la columna stock lo rechaza la base de datos dentro del try
+        Map<Long, Long> deltas = new HashMap<>();
+        lote.forEach((productoId, suma) -> {
+            long total = suma.sum();
+            if (total != 0) {
+                deltas.put(productoId, total);
+            }
+        });
+        try {
+            volcadoService.aplicar(instancia, deltas, segmento);
+        } catch (RuntimeException e) {
+            // Los segmentos siguen en disco; los deltas vuelven al mapa y entran en el próximo volcado
+            log.warn("Volcado de stock fallido, se reintentará: {}", e.getMessage());
+            deltas.forEach(this::acumular);
+            return;
+        }
+        try {
+            diario.eliminarHasta(segmento);
+        } catch (IOException e) {
+            log.warn("No se pudieron eliminar segmentos del diario de stock: {}", e.getMessage());
+        }
+    }
+
+    private void acumular(Long productoId, long delta) {
+        pendientes.computeIfAbsent(productoId, id -> new LongAdder()).add(delta);
+    }
+}
@@ -0,0 +1,96 @@
+package com.compras.productos.service;
+
+import com.compras.productos.model.DiarioStockVolcado;
+import com.compras.productos.model.Producto;
+import com.compras.productos.repository.DiarioStockVolcadoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class StockVolcadoService {
+    private static final Logger log = LoggerFactory.getLogger(StockVolcadoService.class);
+    // Sube también la versión: un PUT basado en una copia leída antes del volcado falla en lugar de pisar el stock
+    private static final String AJUSTAR_STOCK =
+            "UPDATE productos SET stock = stock + ?, version = version + 1, fecha_actualizacion = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final DiarioStockVolcadoRepository volcadoRepository;
+    private final VersionCatalogoService versionCatalogo;
+    // hibernate.statements no ve el lote JDBC: cada fila del lote es un UPDATE enviado a la base de datos
+    private final Counter sentenciasLote;
+
+    public StockVolcadoService(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                               DiarioStockVolcadoRepository volcadoRepository, VersionCatalogoService versionCatalogo,
+                               MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.volcadoRepository = volcadoRepository;
+        this.versionCatalogo = versionCatalogo;
+        this.sentenciasLote = Counter.builder("stock.volcado.sentencias")
+                .description("UPDATE de stock enviados en los lotes JDBC del volcado")
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public long ultimoSegmentoAplicado(String instancia) {
+        return volcadoRepository.findById(instancia).map(DiarioStockVolcado::getUltimoSegmento).orElse(0L);
+    }
+
+    // Aplica los deltas coalescidos y marca el segmento del diario en la misma transacción: si la
+    // instancia cae después del commit, al reiniciar no se vuelve a aplicar ese segmento
+    @Transactional
+    public void aplicar(String instancia, Map<Long, Long> deltas, long segmento) {
+        Instant ahora = Instant.now();
+        // Orden por id para que dos instancias que vuelcan a la vez no se bloqueen mutuamente
+        List<Map.Entry<Long, Long>> filas = new ArrayList<>(new TreeMap<>(deltas).entrySet());
+        if (!filas.isEmpty()) {
+            // Un solo lote JDBC: a diferencia de un UPDATE JPQL, no vacía la región de Producto en la caché
+            // de segundo nivel; solo se desalojan los productos modificados
+            int[][] actualizadas = jdbcTemplate.batchUpdate(AJUSTAR_STOCK, filas, filas.size(), (ps, fila) -> {
+                ps.setLong(1, fila.getValue());
+                ps.setTimestamp(2, Timestamp.from(ahora));
+                ps.setLong(3, fila.getKey());
+            });
+            sentenciasLote.increment(filas.size());
+            for (int i = 0; i < filas.size(); i++) {
+                if (actualizadas[0][i] == 0) {
+                    log.warn("Delta de stock {} descartado: el producto {} no existe", filas.get(i).getValue(), filas.get(i).getKey());
+                }
+            }
+            desalojarAlConfirmar(deltas.keySet());
+        }
+        DiarioStockVolcado marca = volcadoRepository.findById(instancia).orElseGet(() -> new DiarioStockVolcado(instancia));
+        marca.setUltimoSegmento(segmento);
+        marca.setFechaActualizacion(ahora);
+        volcadoRepository.save(marca);
+        versionCatalogo.incrementar();
+    }
+
+    // Tras el commit, para que una lectura concurrente no vuelva a cachear el stock anterior
+    private void desalojarAlConfirmar(Iterable<Long> productoIds) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Long productoId : productoIds) {
+                    entityManagerFactory.getCache().evict(Producto.class, productoId);
+                }
+            }
+        });
+    }
+}
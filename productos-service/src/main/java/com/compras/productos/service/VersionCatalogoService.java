@@ -0,0 +1,69 @@
+package com.compras.productos.service;
+
+import com.compras.productos.dto.VersionCatalogo;
+import com.compras.productos.repository.CatalogoVersionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Versión de los listados de productos para responder GET condicionales: un contador persistido en
+ * catalogo_version que cada escritura del catálogo (altas, cambios, bajas y el volcado de deltas de stock)
+ * incrementa en su misma transacción, así que el ETag cambia con cada commit de cualquier instancia.
+ * Leerla es una búsqueda por clave primaria, cacheada durante catalogo.version.ttl-ms; los incrementos de
+ * esta instancia la invalidan al confirmar. Todos los listados (también los de un proveedor) comparten la versión.
+ * <p>
+ * El incremento bloquea la fila del contador hasta el commit: las escrituras del catálogo se serializan en
+ * ese punto, por eso se hace al final de cada transacción.
+ */
+@Service
+public class VersionCatalogoService {
+    private static final String CATALOGO = "productos";
+    // Upsert por JDBC: una consulta nativa de Hibernate vaciaría todas las regiones de la caché de segundo nivel
+    private static final String INCREMENTAR =
+            "INSERT INTO catalogo_version (catalogo, version, fecha_actualizacion) VALUES (?, 1, ?) "
+            + "ON DUPLICATE KEY UPDATE version = version + 1, fecha_actualizacion = VALUES(fecha_actualizacion)";
+
+    private final CatalogoVersionRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+    private volatile VersionCatalogo version;
+    private volatile long expira;
+
+    public VersionCatalogoService(CatalogoVersionRepository repository, JdbcTemplate jdbcTemplate,
+                                  @Value("${catalogo.version.ttl-ms:1000}") long ttlMillis) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public VersionCatalogo actual() {
+        long ahora = System.currentTimeMillis();
+        VersionCatalogo actual = version;
+        if (actual == null || expira < ahora) {
+            actual = repository.version(CATALOGO).orElseGet(() -> new VersionCatalogo(0L, null));
+            expira = ahora + ttlMillis;
+            version = actual;
+        }
+        return actual;
+    }
+
+    // Dentro de la transacción de la escritura: si esta se revierte, la versión tampoco cambia
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void incrementar() {
+        jdbcTemplate.update(INCREMENTAR, CATALOGO, Timestamp.from(Instant.now()));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version = null;
+            }
+        });
+    }
+}
@@ -1,11 +1,17 @@
 package com.compras.proveedores.controller;
 
+import com.compras.proveedores.dto.VersionCatalogo;
 import com.compras.proveedores.model.Proveedor;
 import com.compras.proveedores.repository.ProveedorRepository;
+import com.compras.proveedores.service.ProveedorService;
+import com.compras.proveedores.service.VersionCatalogoService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,14 +20,31 @@ import java.util.List;
 @Tag(name = "Proveedores", description = "API CRUD de Proveedores")
 public class ProveedorController {
     private final ProveedorRepository repository;
+    private final ProveedorService proveedorService;
+    private final VersionCatalogoService versionCatalogo;
 
-    public ProveedorController(ProveedorRepository repository) {
+    public ProveedorController(ProveedorRepository repository, ProveedorService proveedorService,
+                               VersionCatalogoService versionCatalogo) {
         this.repository = repository;
+        this.proveedorService = proveedorService;
+        this.versionCatalogo = versionCatalogo;
     }
 
+    // GET condicional: si el ETag/Last-Modified del cliente coincide se responde 304 sin consultar la lista.
+    // El ETag no depende del formato (JSON/CBOR): Vary: Accept evita que una caché sirva uno por otro
     @GetMapping
-    public List<Proveedor> list() {
-        return repository.findAll();
+    public ResponseEntity<List<Proveedor>> list(WebRequest request) {
+        VersionCatalogo version = versionCatalogo.actual();
+        if (request.checkNotModified(version.etag(), version.ultimaActualizacionMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(repository.findAll());
+    }
+
+    // Resolución en lote por ids (la usa /bff/ordenes en el gateway)
+    @GetMapping("/lote")
+    public List<Proveedor> lote(@RequestParam List<Long> ids) {
+        return repository.findAllById(ids);
     }
 
     @GetMapping("/{id}")
@@ -33,27 +56,21 @@ public class ProveedorController {
 
     @PostMapping
     public ResponseEntity<Proveedor> create(@RequestBody Proveedor proveedor) {
-        Proveedor saved = repository.save(proveedor);
+        Proveedor saved = proveedorService.crear(proveedor);
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Proveedor> update(@PathVariable Long id, @RequestBody Proveedor body) {
-        return repository.findById(id)
-                .map(existing -> {
-                    existing.setNombre(body.getNombre());
-                    existing.setRuc(body.getRuc());
-                    existing.setDireccion(body.getDireccion());
-                    existing.setTelefono(body.getTelefono());
-                    existing.setEstado(body.getEstado());
-                    return ResponseEntity.ok(repository.save(existing));
-                }).orElse(ResponseEntity.notFound().build());
+        return proveedorService.actualizar(id, body)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        return repository.findById(id)
-                .map(existing -> { repository.delete(existing); return new ResponseEntity<Void>(HttpStatus.NO_CONTENT); })
-                .orElse(ResponseEntity.notFound().build());
+        return proveedorService.eliminar(id)
+                ? new ResponseEntity<Void>(HttpStatus.NO_CONTENT)
+                : ResponseEntity.notFound().build();
     }
 }
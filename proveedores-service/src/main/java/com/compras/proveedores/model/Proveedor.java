@@ -1,11 +1,15 @@
 package com.compras.proveedores.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
 @Table(name = "proveedores")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Proveedor {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,6 +32,10 @@ public class Proveedor {
 
     private Instant fechaCreacion;
     private Instant fechaActualizacion;
+    // Bloqueo optimista: una actualización basada en una copia obsoleta (p. ej. de la caché de otra instancia) falla
+    @Version
+    @Column(nullable = false)
+    private Long version;
 
     @PrePersist
     public void prePersist() {
@@ -57,4 +65,6 @@ public class Proveedor {
     public void setFechaCreacion(Instant fechaCreacion) { this.fechaCreacion = fechaCreacion; }
     public Instant getFechaActualizacion() { return fechaActualizacion; }
     public void setFechaActualizacion(Instant fechaActualizacion) { this.fechaActualizacion = fechaActualizacion; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -0,0 +1,14 @@
+package com.compras.proveedores.repository;
+
+import com.compras.proveedores.dto.VersionCatalogo;
+import com.compras.proveedores.model.CatalogoVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface CatalogoVersionRepository extends JpaRepository<CatalogoVersion, String> {
+
+    @Query("SELECT new com.compras.proveedores.dto.VersionCatalogo(c.version, c.fechaActualizacion) FROM CatalogoVersion c WHERE c.catalogo = :catalogo")
+    Optional<VersionCatalogo> version(String catalogo);
+}
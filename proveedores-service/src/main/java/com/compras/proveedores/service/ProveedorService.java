@@ -0,0 +1,55 @@
+package com.compras.proveedores.service;
+
+import com.compras.proveedores.model.Proveedor;
+import com.compras.proveedores.repository.ProveedorRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Escrituras del catálogo: cada una incrementa la versión del catálogo en su misma transacción
+@Service
+public class ProveedorService {
+    private final ProveedorRepository repository;
+    private final VersionCatalogoService versionCatalogo;
+
+    public ProveedorService(ProveedorRepository repository, VersionCatalogoService versionCatalogo) {
+        this.repository = repository;
+        this.versionCatalogo = versionCatalogo;
+    }
+
+    @Transactional
+    public Proveedor crear(Proveedor proveedor) {
+        Proveedor guardado = repository.save(proveedor);
+        versionCatalogo.incrementar();
+        return guardado;
+    }
+
+    @Transactional
+    public Optional<Proveedor> actualizar(Long id, Proveedor cambios) {
+        return repository.findById(id).map(existente -> {
+            // Si el cliente envía la versión que leyó, un cambio intermedio se rechaza con 409
+            if (cambios.getVersion() != null && !cambios.getVersion().equals(existente.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Proveedor.class, id);
+            }
+            existente.setNombre(cambios.getNombre());
+            existente.setRuc(cambios.getRuc());
+            existente.setDireccion(cambios.getDireccion());
+            existente.setTelefono(cambios.getTelefono());
+            existente.setEstado(cambios.getEstado());
+            Proveedor guardado = repository.save(existente);
+            versionCatalogo.incrementar();
+            return guardado;
+        });
+    }
+
+    @Transactional
+    public boolean eliminar(Long id) {
+        return repository.findById(id).map(existente -> {
+            repository.delete(existente);
+            versionCatalogo.incrementar();
+            return true;
+        }).orElse(false);
+    }
+}
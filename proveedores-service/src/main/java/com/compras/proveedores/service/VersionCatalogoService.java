@@ -0,0 +1,65 @@
+package com.compras.proveedores.service;
+
+import com.compras.proveedores.dto.VersionCatalogo;
+import com.compras.proveedores.repository.CatalogoVersionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Versión del listado de proveedores para responder GET condicionales: un contador persistido en
+ * catalogo_version que cada alta, cambio o baja incrementa en su misma transacción, así que el ETag cambia
+ * con cada commit de cualquier instancia. Leerla es una búsqueda por clave primaria, cacheada durante
+ * catalogo.version.ttl-ms; los incrementos de esta instancia la invalidan al confirmar.
+ */
+@Service
+public class VersionCatalogoService {
+    private static final String CATALOGO = "proveedores";
+    // Upsert por JDBC: una consulta nativa de Hibernate vaciaría todas las regiones de la caché de segundo nivel
+    private static final String INCREMENTAR =
+            "INSERT INTO catalogo_version (catalogo, version, fecha_actualizacion) VALUES (?, 1, ?) "
+            + "ON DUPLICATE KEY UPDATE version = version + 1, fecha_actualizacion = VALUES(fecha_actualizacion)";
+
+    private final CatalogoVersionRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+    private volatile VersionCatalogo version;
+    private volatile long expira;
+
+    public VersionCatalogoService(CatalogoVersionRepository repository, JdbcTemplate jdbcTemplate,
+                                  @Value("${catalogo.version.ttl-ms:1000}") long ttlMillis) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public VersionCatalogo actual() {
+        long ahora = System.currentTimeMillis();
+        VersionCatalogo actual = version;
+        if (actual == null || expira < ahora) {
+            actual = repository.version(CATALOGO).orElseGet(() -> new VersionCatalogo(0L, null));
+            expira = ahora + ttlMillis;
+            version = actual;
+        }
+        return actual;
+    }
+
+    // Dentro de la transacción de la escritura: si esta se revierte, la versión tampoco cambia
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void incrementar() {
+        jdbcTemplate.update(INCREMENTAR, CATALOGO, Timestamp.from(Instant.now()));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version = null;
+            }
+        });
+    }
+}
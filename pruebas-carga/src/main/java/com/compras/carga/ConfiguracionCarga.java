@@ -0,0 +1,68 @@
+package com.compras.carga;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Parámetros de la prueba, leídos de propiedades del sistema (-Dcarga.*)
+record ConfiguracionCarga(Path raiz,
+                          String gateway,
+                          boolean arrancar,
+                          Duration duracion,
+                          Duration calentamiento,
+                          int usuarios,
+                          Map<String, Integer> mezcla,
+                          int lineasMax,
+                          double umbralErrores,
+                          double tolerancia,
+                          boolean actualizarBase) {
+
+    static ConfiguracionCarga desdePropiedades() {
+        return new ConfiguracionCarga(
+                Path.of(System.getProperty("carga.raiz", ".")).toAbsolutePath().normalize(),
+                System.getProperty("carga.gateway", "http://localhost:8085"),
+                Boolean.parseBoolean(System.getProperty("carga.arrancar", "true")),
+                duracion(System.getProperty("carga.duracion", "60s")),
+                duracion(System.getProperty("carga.calentamiento", "15s")),
+                Integer.parseInt(System.getProperty("carga.usuarios", "32")),
+                mezcla(System.getProperty("carga.mezcla", "catalogo:45,proveedores:25,orden:15,detalle:15")),
+                Integer.parseInt(System.getProperty("carga.lineas-max", "20")),
+                Double.parseDouble(System.getProperty("carga.umbral-errores", "0.01")),
+                Double.parseDouble(System.getProperty("carga.tolerancia", "0.20")),
+                Boolean.parseBoolean(System.getProperty("carga.actualizar-base", "false")));
+    }
+
+    Path lineaBase() {
+        return raiz.resolve("pruebas-carga").resolve("linea-base.properties");
+    }
+
+    Path salida() {
+        return raiz.resolve("pruebas-carga").resolve("target").resolve("carga");
+    }
+
+    // "45s", "2m" o segundos sin unidad
+    private static Duration duracion(String valor) {
+        String v = valor.trim().toLowerCase();
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("s")) {
+            v = v.substring(0, v.length() - 1);
+        }
+        return Duration.ofSeconds(Long.parseLong(v));
+    }
+
+    // "catalogo:45,proveedores:25" -> pesos por escenario
+    private static Map<String, Integer> mezcla(String valor) {
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        for (String parte : valor.split(",")) {
+            String[] kv = parte.trim().split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Mezcla inválida: " + parte);
+            }
+            pesos.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+        }
+        return pesos;
+    }
+}
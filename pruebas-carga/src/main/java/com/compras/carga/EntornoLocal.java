@@ -0,0 +1,102 @@
+package com.compras.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Arranca Eureka, los tres servicios (perfil h2) y el gateway como procesos locales a partir de los jars empaquetados
+final class EntornoLocal implements AutoCloseable {
+    private static final Duration ESPERA_MAXIMA = Duration.ofMinutes(3);
+
+    private final Path raiz;
+    private final Path logs;
+    private final String gateway;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final List<Process> procesos = new ArrayList<>();
+
+    EntornoLocal(Path raiz, Path logs, String gateway) {
+        this.raiz = raiz;
+        this.logs = logs;
+        this.gateway = gateway;
+    }
+
+    void arrancar() throws IOException, InterruptedException {
+        Files.createDirectories(logs);
+        iniciar("eureka-server");
+        esperar("http://localhost:8761/");
+        iniciar("proveedores-service", "--spring.profiles.active=h2");
+        iniciar("productos-service", "--spring.profiles.active=h2");
+        iniciar("ordenes-service", "--spring.profiles.active=h2");
+        iniciar("api-gateway");
+        // El gateway responde cuando ya ve al menos una instancia de cada servicio
+        esperar(gateway + "/proveedores");
+        esperar(gateway + "/productos");
+        esperar(gateway + "/ordenes");
+    }
+
+    private void iniciar(String modulo, String... argumentos) throws IOException {
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.add("-jar");
+        comando.add(buscarJar(modulo).toString());
+        comando.addAll(List.of(argumentos));
+        Process proceso = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(logs.resolve(modulo + ".log").toFile())
+                .start();
+        procesos.add(proceso);
+        System.out.printf("Arrancado %s (pid %d)%n", modulo, proceso.pid());
+    }
+
+    private Path buscarJar(String modulo) throws IOException {
+        Path target = raiz.resolve(modulo).resolve("target");
+        try (Stream<Path> archivos = Files.list(target)) {
+            return archivos
+                    .filter(p -> p.getFileName().toString().startsWith(modulo) && p.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No se encontró el jar de " + modulo + " en " + target));
+        }
+    }
+
+    private void esperar(String url) throws InterruptedException {
+        long limite = System.nanoTime() + ESPERA_MAXIMA.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(2)).GET().build();
+        while (System.nanoTime() < limite) {
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Todavía arrancando
+            }
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+        throw new IllegalStateException("Timeout esperando " + url + " (ver logs en " + logs + ")");
+    }
+
+    @Override
+    public void close() {
+        for (Process proceso : procesos) {
+            proceso.destroy();
+        }
+        for (Process proceso : procesos) {
+            try {
+                if (!proceso.waitFor(20, TimeUnit.SECONDS)) {
+                    proceso.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                proceso.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.compras.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Operaciones que componen la mezcla de tráfico, todas a través del gateway:
+ * catalogo (listado de productos), proveedores (listado y consulta por id),
+ * orden (POST /ordenes/completa con cantidad de líneas variable) y
+ * detalle (lectura de detalles de una orden y edición de uno de ellos).
+ */
+final class Escenarios {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final String gateway;
+    private final int lineasMax;
+    private final Metricas metricas;
+    private final HttpClient http;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<Long> proveedores = new CopyOnWriteArrayList<>();
+    private final List<Long> productos = new CopyOnWriteArrayList<>();
+    private final List<Long> ordenes = new CopyOnWriteArrayList<>();
+
+    Escenarios(String gateway, int lineasMax, Metricas metricas) {
+        this.gateway = gateway;
+        this.lineasMax = lineasMax;
+        this.metricas = metricas;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+    }
+
+    // Datos iniciales: proveedores, productos y algunas órdenes para las ediciones de detalle
+    void sembrar(int cantidadProveedores, int productosPorProveedor, int cantidadOrdenes) throws IOException, InterruptedException {
+        for (int i = 0; i < cantidadProveedores; i++) {
+            String body = String.format(
+                    "{\"nombre\":\"Proveedor carga %d\",\"ruc\":\"%011d\",\"direccion\":\"Av. Carga %d\",\"telefono\":\"01-000-%04d\",\"estado\":true}",
+                    i, 20_000_000_000L + i, i, i);
+            long proveedorId = id(enviar("POST", "/proveedores", body, null));
+            proveedores.add(proveedorId);
+            for (int j = 0; j < productosPorProveedor; j++) {
+                String producto = String.format(
+                        "{\"nombre\":\"Producto %d-%d\",\"precioUnitario\":%d.50,\"precioCompra\":%d.00,\"stock\":100,\"proveedorId\":%d,\"estado\":true}",
+                        i, j, 20 + j, 10 + j, proveedorId);
+                productos.add(id(enviar("POST", "/productos", producto, null)));
+            }
+        }
+        for (int i = 0; i < cantidadOrdenes; i++) {
+            orden();
+        }
+        if (ordenes.isEmpty()) {
+            throw new IllegalStateException("No se pudo crear ninguna orden inicial");
+        }
+    }
+
+    void ejecutar(String escenario) throws IOException, InterruptedException {
+        switch (escenario) {
+            case "catalogo" -> catalogo();
+            case "proveedores" -> proveedores();
+            case "orden" -> orden();
+            case "detalle" -> detalle();
+            default -> throw new IllegalArgumentException("Escenario desconocido: " + escenario);
+        }
+    }
+
+    private void catalogo() throws IOException, InterruptedException {
+        if (aleatorio().nextInt(3) == 0) {
+            enviar("GET", "/productos?proveedorId=" + elegir(proveedores), null, "GET /productos?proveedorId");
+        } else {
+            enviar("GET", "/productos", null, "GET /productos");
+        }
+    }
+
+    private void proveedores() throws IOException, InterruptedException {
+        if (aleatorio().nextBoolean()) {
+            enviar("GET", "/proveedores", null, "GET /proveedores");
+        } else {
+            enviar("GET", "/proveedores/" + elegir(proveedores), null, "GET /proveedores/{id}");
+        }
+    }
+
+    private void orden() throws IOException, InterruptedException {
+        int lineas = 1 + aleatorio().nextInt(lineasMax);
+        StringBuilder body = new StringBuilder("{\"proveedorId\":").append(elegir(proveedores)).append(",\"productos\":[");
+        for (int i = 0; i < lineas; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"productoId\":").append(elegir(productos))
+                .append(",\"cantidad\":").append(1 + aleatorio().nextInt(10))
+                .append(",\"precioUnitario\":").append(10 + aleatorio().nextInt(500)).append(".25}");
+        }
+        body.append("]}");
+        HttpResponse<String> respuesta = enviar("POST", "/ordenes/completa", body.toString(), "POST /ordenes/completa");
+        if (respuesta != null && respuesta.statusCode() == 201) {
+            ordenes.add(id(respuesta));
+        }
+    }
+
+    private void detalle() throws IOException, InterruptedException {
+        long ordenId = elegir(ordenes);
+        HttpResponse<String> respuesta = enviar("GET", "/ordenes/" + ordenId + "/detalles", null, "GET /ordenes/{id}/detalles");
+        if (respuesta == null || respuesta.statusCode() != 200) {
+            return;
+        }
+        JsonNode detalles = mapper.readTree(respuesta.body());
+        if (detalles.isEmpty()) {
+            return;
+        }
+        JsonNode detalle = detalles.get(aleatorio().nextInt(detalles.size()));
+        String body = String.format("{\"productoId\":%d,\"cantidad\":%d,\"precioUnitario\":%s}",
+                detalle.get("productoId").asLong(), 1 + aleatorio().nextInt(10), detalle.get("precioUnitario").asText());
+        enviar("PUT", "/ordenes/" + ordenId + "/detalles/" + detalle.get("id").asLong(), body,
+                "PUT /ordenes/{id}/detalles/{id}");
+    }
+
+    // Si ruta es null la petición no se mide (siembra de datos) y cualquier error corta la prueba;
+    // si se mide, un fallo de conexión cuenta como error y devuelve null
+    private HttpResponse<String> enviar(String metodo, String path, String body, String ruta) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(gateway + path)).timeout(TIMEOUT)
+                .header("Accept", "application/json");
+        if (body != null) {
+            builder.header("Content-Type", "application/json").method(metodo, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            builder.method(metodo, HttpRequest.BodyPublishers.noBody());
+        }
+        long inicio = System.nanoTime();
+        HttpResponse<String> respuesta;
+        try {
+            respuesta = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            if (ruta == null) {
+                throw e;
+            }
+            metricas.registrar(ruta, System.nanoTime() - inicio, true);
+            return null;
+        }
+        boolean error = respuesta.statusCode() >= 400;
+        if (ruta != null) {
+            metricas.registrar(ruta, System.nanoTime() - inicio, error);
+        } else if (error) {
+            throw new IOException(metodo + " " + path + " respondió " + respuesta.statusCode() + ": " + respuesta.body());
+        }
+        return respuesta;
+    }
+
+    private long id(HttpResponse<String> respuesta) throws IOException {
+        return mapper.readTree(respuesta.body()).get("id").asLong();
+    }
+
+    private static long elegir(List<Long> ids) {
+        return ids.get(aleatorio().nextInt(ids.size()));
+    }
+
+    private static ThreadLocalRandom aleatorio() {
+        return ThreadLocalRandom.current();
+    }
+}
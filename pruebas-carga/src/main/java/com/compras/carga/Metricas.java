@@ -0,0 +1,66 @@
+package com.compras.carga;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Latencias y errores por ruta; solo registra tras el calentamiento
+final class Metricas {
+
+    record Resumen(String ruta, long peticiones, long errores, double rps, double p50, double p95, double p99) {
+        double tasaErrores() {
+            return peticiones == 0 ? 0 : (double) errores / peticiones;
+        }
+    }
+
+    private static final class Ruta {
+        private long[] micros = new long[1024];
+        private int cantidad;
+        private long errores;
+
+        synchronized void registrar(long latenciaMicros, boolean error) {
+            if (cantidad == micros.length) {
+                micros = Arrays.copyOf(micros, cantidad * 2);
+            }
+            micros[cantidad++] = latenciaMicros;
+            if (error) {
+                errores++;
+            }
+        }
+
+        synchronized Resumen resumir(String nombre, double segundos) {
+            long[] ordenadas = Arrays.copyOf(micros, cantidad);
+            Arrays.sort(ordenadas);
+            return new Resumen(nombre, cantidad, errores, cantidad / segundos,
+                    percentil(ordenadas, 0.50), percentil(ordenadas, 0.95), percentil(ordenadas, 0.99));
+        }
+
+        private static double percentil(long[] ordenadas, double p) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, indice)] / 1000.0;
+        }
+    }
+
+    private final Map<String, Ruta> rutas = new ConcurrentHashMap<>();
+    private volatile boolean activas;
+
+    void activar() {
+        activas = true;
+    }
+
+    void registrar(String ruta, long latenciaNanos, boolean error) {
+        if (activas) {
+            rutas.computeIfAbsent(ruta, r -> new Ruta()).registrar(latenciaNanos / 1000, error);
+        }
+    }
+
+    Map<String, Resumen> resumir(double segundos) {
+        Map<String, Resumen> resumen = new TreeMap<>();
+        rutas.forEach((nombre, ruta) -> resumen.put(nombre, ruta.resumir(nombre, segundos)));
+        return resumen;
+    }
+}
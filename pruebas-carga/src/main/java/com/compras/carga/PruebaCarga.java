@@ -0,0 +1,164 @@
+package com.compras.carga;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga de extremo a extremo a través del gateway. Reproduce la mezcla de tráfico
+ * configurada con N usuarios concurrentes, informa throughput, p50/p95/p99 y tasa de errores
+ * por ruta, y termina con error si se supera el umbral de errores o si alguna ruta empeora más
+ * que la tolerancia respecto de la línea base (pruebas-carga/linea-base.properties).
+ */
+public final class PruebaCarga {
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracionCarga config = ConfiguracionCarga.desdePropiedades();
+        Files.createDirectories(config.salida());
+
+        List<String> fallos;
+        try (EntornoLocal entorno = new EntornoLocal(config.raiz(), config.salida().resolve("logs"), config.gateway())) {
+            if (config.arrancar()) {
+                entorno.arrancar();
+            }
+            Map<String, Metricas.Resumen> resumen = ejecutar(config);
+            String reporte = reporte(resumen);
+            System.out.println(reporte);
+            Files.writeString(config.salida().resolve("reporte.txt"), reporte);
+
+            fallos = verificar(config, resumen);
+            if (config.actualizarBase()) {
+                guardarBase(config.lineaBase(), resumen);
+                System.out.println("Línea base actualizada en " + config.lineaBase());
+            }
+        }
+        // Fuera del try para que el entorno ya esté detenido
+        if (!fallos.isEmpty()) {
+            fallos.forEach(f -> System.out.println("REGRESIÓN: " + f));
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Metricas.Resumen> ejecutar(ConfiguracionCarga config) throws Exception {
+        Metricas metricas = new Metricas();
+        Escenarios escenarios = new Escenarios(config.gateway(), config.lineasMax(), metricas);
+        escenarios.sembrar(20, 10, 50);
+
+        List<String> ruleta = new ArrayList<>();
+        config.mezcla().forEach((escenario, peso) -> {
+            for (int i = 0; i < peso; i++) {
+                ruleta.add(escenario);
+            }
+        });
+
+        AtomicLong fallosInternos = new AtomicLong();
+        long fin = System.nanoTime() + config.calentamiento().toNanos() + config.duracion().toNanos();
+        ExecutorService usuarios = Executors.newFixedThreadPool(config.usuarios());
+        for (int i = 0; i < config.usuarios(); i++) {
+            usuarios.submit(() -> {
+                while (System.nanoTime() < fin) {
+                    String escenario = ruleta.get(ThreadLocalRandom.current().nextInt(ruleta.size()));
+                    try {
+                        escenarios.ejecutar(escenario);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Exception e) {
+                        fallosInternos.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        System.out.printf("Calentamiento %ds con %d usuarios...%n", config.calentamiento().toSeconds(), config.usuarios());
+        TimeUnit.NANOSECONDS.sleep(config.calentamiento().toNanos());
+        metricas.activar();
+        long inicioMedicion = System.nanoTime();
+        System.out.printf("Midiendo durante %ds...%n", config.duracion().toSeconds());
+
+        usuarios.shutdown();
+        usuarios.awaitTermination(config.duracion().toSeconds() + 30, TimeUnit.SECONDS);
+        double segundos = (System.nanoTime() - inicioMedicion) / 1e9;
+        if (fallosInternos.get() > 0) {
+            System.out.printf("Aviso: %d iteraciones abortadas por respuestas inesperadas%n", fallosInternos.get());
+        }
+        return metricas.resumir(segundos);
+    }
+
+    private static String reporte(Map<String, Metricas.Resumen> resumen) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-34s %9s %9s %8s %9s %9s %9s%n",
+                "ruta", "peticiones", "req/s", "errores", "p50 ms", "p95 ms", "p99 ms"));
+        long total = 0;
+        long errores = 0;
+        double rps = 0;
+        for (Metricas.Resumen r : resumen.values()) {
+            sb.append(String.format(Locale.ROOT, "%-34s %9d %9.1f %7.2f%% %9.1f %9.1f %9.1f%n",
+                    r.ruta(), r.peticiones(), r.rps(), r.tasaErrores() * 100, r.p50(), r.p95(), r.p99()));
+            total += r.peticiones();
+            errores += r.errores();
+            rps += r.rps();
+        }
+        sb.append(String.format(Locale.ROOT, "%-34s %9d %9.1f %7.2f%%%n",
+                "TOTAL", total, rps, total == 0 ? 0 : 100.0 * errores / total));
+        return sb.toString();
+    }
+
+    private static List<String> verificar(ConfiguracionCarga config, Map<String, Metricas.Resumen> resumen) throws IOException {
+        List<String> fallos = new ArrayList<>();
+        for (Metricas.Resumen r : resumen.values()) {
+            if (r.tasaErrores() > config.umbralErrores()) {
+                fallos.add(String.format(Locale.ROOT, "%s: tasa de errores %.2f%% (máximo %.2f%%)",
+                        r.ruta(), r.tasaErrores() * 100, config.umbralErrores() * 100));
+            }
+        }
+        if (!Files.exists(config.lineaBase())) {
+            System.out.println("Sin línea base en " + config.lineaBase() + ": solo se verifica la tasa de errores");
+            return fallos;
+        }
+
+        Properties base = new Properties();
+        try (InputStream in = Files.newInputStream(config.lineaBase())) {
+            base.load(in);
+        }
+        double factorLatencia = 1 + config.tolerancia();
+        double factorThroughput = 1 - config.tolerancia();
+        for (Metricas.Resumen r : resumen.values()) {
+            String p95Base = base.getProperty(r.ruta() + ".p95");
+            if (p95Base != null && r.p95() > Double.parseDouble(p95Base) * factorLatencia) {
+                fallos.add(String.format(Locale.ROOT, "%s: p95 %.1f ms (base %s ms)", r.ruta(), r.p95(), p95Base));
+            }
+            String rpsBase = base.getProperty(r.ruta() + ".rps");
+            if (rpsBase != null && r.rps() < Double.parseDouble(rpsBase) * factorThroughput) {
+                fallos.add(String.format(Locale.ROOT, "%s: %.1f req/s (base %s req/s)", r.ruta(), r.rps(), rpsBase));
+            }
+        }
+        return fallos;
+    }
+
+    private static void guardarBase(Path archivo, Map<String, Metricas.Resumen> resumen) throws IOException {
+        Properties base = new Properties();
+        for (Metricas.Resumen r : resumen.values()) {
+            base.setProperty(r.ruta() + ".p95", String.format(Locale.ROOT, "%.1f", r.p95()));
+            base.setProperty(r.ruta() + ".rps", String.format(Locale.ROOT, "%.1f", r.rps()));
+        }
+        try (OutputStream out = Files.newOutputStream(archivo)) {
+            base.store(out, "Línea base de pruebas de carga (generada con -Dcarga.actualizar-base=true)");
+        }
+    }
+
+    private PruebaCarga() {
+    }
+}
@@ -0,0 +1,28 @@
+#!/usr/bin/env bash
+# Latencia de las consultas de /ordenes/analitica (media y p95 sobre N peticiones) con la ventana
+# por defecto de 12 meses. No genera datos: ejecutar contra una base con el volumen a validar
+# (p. ej. 10M detalles) y con el job de resumen ya ejecutado; para medir sin resúmenes vaciar
+# resumen_compras_estado.
+#
+# Uso: scripts/benchmark-analitica.sh [url_base] [peticiones] [producto_id]
+#   url_base por defecto: ordenes-service con perfil h2 (http://localhost:18083)
+set -euo pipefail
+
+BASE="${1:-http://localhost:18083}"
+PETICIONES="${2:-50}"
+PRODUCTO="${3:-1}"
+
+medir() {
+  local nombre="$1" ruta="$2"
+  curl -sf -o /dev/null "$BASE$ruta"   # calentamiento
+  for n in $(seq 1 "$PETICIONES"); do
+    curl -sf -o /dev/null -w '%{time_total}\n' "$BASE$ruta"
+  done | sort -n | awk -v n="$nombre" '
+    { t[NR] = $1 * 1000; suma += t[NR] }
+    END { p95 = t[int(NR * 0.95 + 0.5)]; printf "%-32s media %8.1f ms   p95 %8.1f ms\n", n, suma / NR, p95 }'
+}
+
+medir "gasto-proveedor" "/ordenes/analitica/gasto-proveedor"
+medir "top-productos (cantidad)" "/ordenes/analitica/top-productos?criterio=cantidad"
+medir "top-productos (monto)" "/ordenes/analitica/top-productos?criterio=monto"
+medir "precios/$PRODUCTO" "/ordenes/analitica/precios/$PRODUCTO"
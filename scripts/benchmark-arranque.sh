@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+# Mide el tiempo hasta la primera respuesta HTTP y el RSS de cada servicio,
+# primero en modo normal (java -jar) y luego con AOT + CDS.
+#
+# Uso:
+#   ./mvnw -Paot -Daot.perfiles=h2 -DskipTests package
+#   scripts/benchmark-arranque.sh [servicio ...]
+#
+# Los servicios de datos arrancan con el perfil h2 para no depender de MySQL; gateway y Eureka
+# con su perfil por defecto. El código AOT fija los beans @Profile: el jar debe generarse con el
+# mismo perfil (-Daot.perfiles=h2). La medición CDS usa -Xshare:on: si el archivo no es válido para
+# esta JVM el arranque falla en lugar de ignorarlo en silencio.
+set -euo pipefail
+
+RAIZ="$(cd "$(dirname "$0")/.." && pwd)"
+TRABAJO="$RAIZ/target/benchmark-arranque"
+TIMEOUT_SEG=120
+
+declare -A MAIN=(
+  [eureka-server]=com.compras.eureka.EurekaServerApplication
+  [api-gateway]=com.compras.gateway.ApiGatewayApplication
+  [proveedores-service]=com.compras.proveedores.ProveedoresServiceApplication
+  [productos-service]=com.compras.productos.ProductosServiceApplication
+  [ordenes-service]=com.compras.ordenes.OrdenesServiceApplication
+)
+declare -A URL=(
+  [eureka-server]=http://localhost:8761/
+  [api-gateway]=http://localhost:8085/proveedores
+  [proveedores-service]=http://localhost:18081/proveedores
+  [productos-service]=http://localhost:18082/productos
+  [ordenes-service]=http://localhost:18083/ordenes
+)
+declare -A PERFIL=(
+  [proveedores-service]=h2
+  [productos-service]=h2
+  [ordenes-service]=h2
+)
+
+SERVICIOS=("$@")
+[ ${#SERVICIOS[@]} -eq 0 ] && SERVICIOS=(eureka-server api-gateway proveedores-service productos-service ordenes-service)
+
+ms_ahora() { date +%s%3N; }
+
+# medir <etiqueta> <url> <comando...>: imprime "etiqueta ms rss_mb"
+medir() {
+  local etiqueta="$1" url="$2"; shift 2
+  local inicio pid codigo ms rss
+  inicio=$(ms_ahora)
+  "$@" > "$TRABAJO/$etiqueta.log" 2>&1 &
+  pid=$!
+  while true; do
+    codigo=$(curl -s -o /dev/null -w '%{http_code}' "$url" || true)
+    [ "$codigo" != "000" ] && break
+    if ! kill -0 "$pid" 2>/dev/null || [ $(( $(ms_ahora) - inicio )) -gt $((TIMEOUT_SEG * 1000)) ]; then
+      echo "$etiqueta: no respondió, ver $TRABAJO/$etiqueta.log" >&2
+      kill "$pid" 2>/dev/null || true
+      return 1
+    fi
+    sleep 0.05
+  done
+  ms=$(( $(ms_ahora) - inicio ))
+  rss=$(awk '/VmRSS/ {printf "%.0f", $2 / 1024}' "/proc/$pid/status")
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  printf '%-32s %8s ms %6s MB\n' "$etiqueta" "$ms" "$rss"
+}
+
+# Desempaqueta el jar y genera el archivo CDS con una ejecución de entrenamiento
+preparar_cds() {
+  local svc="$1" dir="$TRABAJO/$1"
+  rm -rf "$dir" && mkdir -p "$dir"
+  (cd "$dir" && jar -xf "$(ls "$RAIZ/$svc"/target/"$svc"-*.jar | grep -v original | head -1)")
+  echo "-cp $dir/BOOT-INF/classes:$(ls "$dir"/BOOT-INF/lib/*.jar | tr '\n' ':')" > "$dir/jvm.args"
+  echo "${MAIN[$svc]}" >> "$dir/jvm.args"
+  java -XX:ArchiveClassesAtExit="$dir/app.jsa" -Dspring.context.exit=onRefresh \
+    "${OPCIONES[@]}" -Dspring.aot.enabled=true @"$dir/jvm.args" > "$dir/entrenamiento.log" 2>&1
+}
+
+mkdir -p "$TRABAJO"
+printf '%-32s %11s %9s\n' "servicio" "1a petición" "RSS"
+for svc in "${SERVICIOS[@]}"; do
+  jar=$(ls "$RAIZ/$svc"/target/"$svc"-*.jar | grep -v original | head -1)
+  OPCIONES=()
+  [ -n "${PERFIL[$svc]:-}" ] && OPCIONES=(-Dspring.profiles.active="${PERFIL[$svc]}")
+  medir "$svc (normal)" "${URL[$svc]}" java "${OPCIONES[@]}" -jar "$jar"
+  preparar_cds "$svc"
+  medir "$svc (aot+cds)" "${URL[$svc]}" java -XX:SharedArchiveFile="$TRABAJO/$svc/app.jsa" -Xshare:on \
+    "${OPCIONES[@]}" -Dspring.aot.enabled=true @"$TRABAJO/$svc/jvm.args"
+done
@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Sentencias SQL ejecutadas por cada 1000 lecturas con y sin caché de segundo nivel.
+# Cuenta hibernate.statements (status=prepared) de /actuator/metrics antes y después de las lecturas.
+#
+# Uso: scripts/benchmark-cache.sh [url_base] [recurso] [lecturas]
+#   url_base por defecto: productos-service con perfil h2 (http://localhost:18082)
+#   recurso: productos | proveedores
+# Para la medición sin caché arrancar el servicio con:
+#   --spring.jpa.properties.hibernate.cache.use_second_level_cache=false
+set -euo pipefail
+
+BASE="${1:-http://localhost:18082}"
+RECURSO="${2:-productos}"
+LECTURAS="${3:-1000}"
+ELEMENTOS=50
+
+sentencias() {
+  curl -sf "$BASE/actuator/metrics/hibernate.statements?tag=status:prepared" \
+    | sed -E 's/.*"value":([0-9.E]+).*/\1/' | awk '{ printf "%d", $1 }'
+}
+
+crear() {
+  local i="$1"
+  if [ "$RECURSO" = productos ]; then
+    printf '{"nombre":"Producto cache %d","precioUnitario":10.00,"precioCompra":8.00,"stock":100,"proveedorId":%d}' "$i" $(( i % 5 + 1 ))
+  else
+    printf '{"nombre":"Proveedor cache %d","ruc":"%011d","direccion":"Calle %d","telefono":"555%04d"}' "$i" $(( 30000000000 + i )) "$i" "$i"
+  fi
+}
+
+ids=$(curl -sf -H 'Accept: application/json' "$BASE/$RECURSO" | grep -o '"id":[0-9]*' | cut -d: -f2 | head -n "$ELEMENTOS" || true)
+existentes=$(printf '%s\n' "$ids" | grep -c . || true)
+for i in $(seq "$existentes" $(( ELEMENTOS - 1 ))); do
+  curl -sf -o /dev/null -H 'Content-Type: application/json' -d "$(crear "$i")" "$BASE/$RECURSO"
+done
+ids=($(curl -sf -H 'Accept: application/json' "$BASE/$RECURSO" | grep -o '"id":[0-9]*' | cut -d: -f2 | head -n "$ELEMENTOS"))
+
+medir() {
+  local nombre="$1" ruta_fn="$2" antes despues inicio fin
+  antes=$(sentencias)
+  inicio=$(date +%s.%N)
+  for n in $(seq 1 "$LECTURAS"); do
+    curl -sf -o /dev/null "$BASE$($ruta_fn "$n")"
+  done
+  fin=$(date +%s.%N)
+  despues=$(sentencias)
+  awk -v n="$nombre" -v s=$(( despues - antes )) -v l="$LECTURAS" -v t0="$inicio" -v t1="$fin" \
+    'BEGIN { printf "%-28s %6d sentencias / %d lecturas  (%.1f por 1000, %.2f ms/lectura)\n", n, s, l, s * 1000 / l, (t1 - t0) * 1000 / l }'
+}
+
+por_id() { echo "/$RECURSO/${ids[$(( $1 % ${#ids[@]} ))]}"; }
+por_listado() {
+  # Sin If-None-Match: el listado siempre se consulta (no hay 304)
+  if [ "$RECURSO" = productos ]; then echo "/productos/proveedor/$(( $1 % 5 + 1 ))"; else echo "/proveedores"; fi
+}
+
+curl -sf -o /dev/null "$BASE$(por_id 0)"   # calentamiento
+medir "GET /$RECURSO/{id}" por_id
+medir "GET listado" por_listado
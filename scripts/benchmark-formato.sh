@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# Compara JSON y CBOR para una orden de 1000 líneas: tamaño de la respuesta, tiempo medio de
+# GET /ordenes/{id} y CPU consumida por el proceso del servicio por petición (utime + stime de
+# /proc/<pid>/stat). La consulta es la misma en ambos formatos: la diferencia de CPU es la serialización.
+#
+# Uso: scripts/benchmark-formato.sh [url_base] [repeticiones] [pid]
+#   url_base por defecto: ordenes-service con perfil h2 (http://localhost:18083)
+#   pid por defecto: el proceso que escucha en el puerto de url_base (mismo equipo)
+set -euo pipefail
+
+BASE="${1:-http://localhost:18083}"
+REPETICIONES="${2:-50}"
+PUERTO=$(printf '%s' "$BASE" | sed -E 's#.*:([0-9]+)(/.*)?$#\1#')
+PID="${3:-$(ss -ltnpH "sport = :$PUERTO" | sed -nE 's/.*pid=([0-9]+).*/\1/p' | head -1)}"
+[ -n "$PID" ] || { echo "No se encontró el proceso en el puerto $PUERTO: pasar el pid como tercer argumento" >&2; exit 1; }
+TICKS=$(getconf CLK_TCK)
+LINEAS=1000
+
+# CPU acumulada del proceso en ticks (campos 14 y 15 de /proc/<pid>/stat, tras el nombre entre paréntesis)
+cpu() {
+  sed -E 's/^.*\) //' "/proc/$PID/stat" | awk '{ print $12 + $13 }'
+}
+
+productos=$(for i in $(seq 1 $LINEAS); do
+  printf '{"productoId":%d,"cantidad":%d,"precioUnitario":%d.%02d}' $(( i % 25 + 1 )) $(( i % 7 + 1 )) $(( i % 900 + 10 )) $(( i % 100 ))
+  [ "$i" -lt "$LINEAS" ] && printf ','
+done)
+
+id=$(curl -sf -H 'Content-Type: application/json' \
+  -d "{\"proveedorId\":1,\"productos\":[$productos]}" \
+  "$BASE/ordenes/completa" | sed -E 's/^\{"id":([0-9]+).*/\1/')
+echo "Orden de prueba $id con $LINEAS líneas"
+
+medir() {
+  local tipo="$1" bytes total=0 t cpu_antes cpu_despues
+  for _ in $(seq 1 20); do   # calentamiento (JIT)
+    curl -sf -H "Accept: $tipo" "$BASE/ordenes/$id" -o /dev/null
+  done
+  bytes=$(curl -sf -H "Accept: $tipo" "$BASE/ordenes/$id" -o /dev/null -w '%{size_download}')
+  cpu_antes=$(cpu)
+  for _ in $(seq 1 "$REPETICIONES"); do
+    t=$(curl -sf -H "Accept: $tipo" "$BASE/ordenes/$id" -o /dev/null -w '%{time_total}')
+    total=$(awk -v a="$total" -v b="$t" 'BEGIN { print a + b }')
+  done
+  cpu_despues=$(cpu)
+  awk -v tipo="$tipo" -v bytes="$bytes" -v total="$total" -v n="$REPETICIONES" \
+    -v cpu=$(( cpu_despues - cpu_antes )) -v ticks="$TICKS" \
+    'BEGIN { printf "%-18s %9d bytes %8.2f ms/petición %8.2f ms CPU/petición\n", tipo, bytes, total * 1000 / n, cpu * 1000 / ticks / n }'
+}
+
+medir application/json
+medir application/cbor
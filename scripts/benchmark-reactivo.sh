@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Compara la lectura bloqueante (MVC + JPA) con la lectura en flujo (R2DBC) de GET /ordenes:
+# para cada nivel de concurrencia lanza N clientes lentos a la vez y mide hilos vivos y memoria
+# residente del servicio en el pico, peticiones fallidas y tiempo total.
+# La concurrencia máxima sostenible es el mayor nivel sin fallos.
+#
+# Uso: scripts/benchmark-reactivo.sh <pid_servicio> [url_base] [niveles] [ordenes]
+#   pid_servicio: proceso de ordenes-service (p. ej. $(pgrep -f ordenes-service))
+#   url_base por defecto: ordenes-service con perfil h2 (http://localhost:18083)
+#   niveles por defecto: "50 100 200 400 800"
+set -euo pipefail
+
+PID="${1:?pid de ordenes-service}"
+BASE="${2:-http://localhost:18083}"
+NIVELES="${3:-50 100 200 400 800}"
+ORDENES="${4:-2000}"
+# Clientes lentos: cada respuesta tarda varios segundos en descargarse y las peticiones se solapan
+LIMITE="${LIMITE:-20k}"
+
+existentes=$(curl -sf -H 'Accept: application/x-ndjson' "$BASE/ordenes/flujo" | grep -c '"id"' || true)
+if [ "$existentes" -lt "$ORDENES" ]; then
+  echo "Creando $(( ORDENES - existentes )) órdenes de prueba..."
+  for i in $(seq "$existentes" $(( ORDENES - 1 ))); do
+    curl -sf -o /dev/null -H 'Content-Type: application/json' \
+      -d "{\"proveedorId\":$(( i % 20 + 1 )),\"productos\":[{\"productoId\":$(( i % 25 + 1 )),\"cantidad\":1,\"precioUnitario\":10.00}]}" \
+      "$BASE/ordenes/completa"
+  done
+fi
+
+hilos() { awk '/^Threads:/ { print $2 }' "/proc/$PID/status"; }
+rss_kb() { awk '/^VmRSS:/ { print $2 }' "/proc/$PID/status"; }
+
+medir() {
+  local nombre="$1" ruta="$2" tipo="$3" nivel="$4"
+  local dir rss_base pico_hilos=0 pico_rss=0 h r inicio fin fallos
+  dir=$(mktemp -d)
+  rss_base=$(rss_kb)
+  inicio=$(date +%s.%N)
+  for i in $(seq 1 "$nivel"); do
+    curl -s -o /dev/null -w '%{http_code}\n' --limit-rate "$LIMITE" --max-time 120 \
+      -H "Accept: $tipo" "$BASE$ruta" > "$dir/$i" 2>/dev/null &
+  done
+  while [ -n "$(jobs -r)" ]; do
+    h=$(hilos); r=$(rss_kb)
+    [ "$h" -gt "$pico_hilos" ] && pico_hilos=$h
+    [ "$r" -gt "$pico_rss" ] && pico_rss=$r
+    sleep 0.2
+  done
+  wait
+  fin=$(date +%s.%N)
+  fallos=$(cat "$dir"/* | grep -vc '^200$' || true)
+  rm -rf "$dir"
+  awk -v n="$nombre" -v c="$nivel" -v h="$pico_hilos" -v base="$rss_base" -v pico="$pico_rss" \
+      -v f="$fallos" -v t0="$inicio" -v t1="$fin" \
+    'BEGIN { printf "%-6s %6d %7d %10.1f %12.1f %7d %8.1f s\n", n, c, h, pico / 1024, (pico - base) / c, f, t1 - t0 }'
+}
+
+printf '%-6s %6s %7s %10s %12s %7s %10s\n' lectura conc hilos 'RSS MB' 'KB/conexión' fallos tiempo
+for nivel in $NIVELES; do
+  curl -sf -o /dev/null "$BASE/ordenes"; curl -sf -o /dev/null -H 'Accept: application/x-ndjson' "$BASE/ordenes/flujo"
+  medir mvc /ordenes application/json "$nivel"
+  sleep 2
+  medir flujo /ordenes/flujo application/x-ndjson "$nivel"
+  sleep 2
+done
@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# Ajustes de stock sobre pocos productos "calientes": PUT /productos/{id} por petición frente a
+# POST /productos/{id}/stock-delta con volcado diferido. Mide peticiones/s, fallos y sentencias SQL
+# (hibernate.statements más los UPDATE del lote JDBC del volcado, stock.volcado.sentencias, ambos de
+# /actuator/metrics) y comprueba que no se pierde ningún delta.
+#
+# Uso: scripts/benchmark-stock.sh [url_base] [peticiones] [concurrencia] [productos]
+#   url_base por defecto: productos-service con perfil h2 (http://localhost:18082)
+set -euo pipefail
+
+BASE="${1:-http://localhost:18082}"
+PETICIONES="${2:-5000}"
+CONCURRENCIA="${3:-32}"
+CALIENTES="${4:-3}"
+STOCK_INICIAL=1000
+
+metrica() {
+  curl -sf "$BASE/actuator/metrics/$1" | sed -E 's/.*"value":([0-9.E]+).*/\1/' | awk '{ printf "%d", $1 }'
+}
+
+sentencias() {
+  echo $(( $(metrica 'hibernate.statements?tag=status:prepared') + $(metrica stock.volcado.sentencias) ))
+}
+
+cuerpo_producto() {
+  printf '{"nombre":"Producto almacén %d","precioUnitario":10.00,"precioCompra":8.00,"stock":%d,"proveedorId":1}' "$1" "$2"
+}
+
+ids=()
+for i in $(seq 1 "$CALIENTES"); do
+  ids+=($(curl -sf -H 'Content-Type: application/json' -H 'Accept: application/json' \
+    -d "$(cuerpo_producto "$i" "$STOCK_INICIAL")" "$BASE/productos" | sed -E 's/^\{"id":([0-9]+).*/\1/'))
+done
+
+stock_total() {
+  local total=0 s
+  for id in "${ids[@]}"; do
+    s=$(curl -sf -H 'Accept: application/json' "$BASE/productos/$id" | sed -E 's/.*"stock":(-?[0-9]+).*/\1/')
+    total=$(( total + s ))
+  done
+  echo "$total"
+}
+
+# Una transferencia por petición en un archivo de configuración de curl, ejecutadas con --parallel
+config_curl() {
+  local modo="$1" i id
+  for i in $(seq 0 $(( PETICIONES - 1 ))); do
+    id=${ids[$(( i % CALIENTES ))]}
+    if [ "$modo" = put ]; then
+      printf 'url = "%s/productos/%s"\nrequest = "PUT"\n' "$BASE" "$id"
+      printf 'data = "%s"\n' "$(cuerpo_producto "$(( i % CALIENTES + 1 ))" $(( STOCK_INICIAL + i )) | sed 's/"/\\"/g')"
+    else
+      printf 'url = "%s/productos/%s/stock-delta"\nrequest = "POST"\ndata = "{\\"delta\\":1}"\n' "$BASE" "$id"
+    fi
+    printf 'header = "Content-Type: application/json"\noutput = "/dev/null"\nwrite-out = "%%{http_code}\\n"\nnext\n'
+  done
+}
+
+medir() {
+  local modo="$1" config antes despues inicio fin codigos fallos
+  config=$(mktemp)
+  config_curl "$modo" > "$config"
+  antes=$(sentencias)
+  inicio=$(date +%s.%N)
+  codigos=$(curl -s --parallel --parallel-immediate --parallel-max "$CONCURRENCIA" -K "$config" || true)
+  fin=$(date +%s.%N)
+  [ "$modo" = delta ] && sleep 1   # último volcado (stock.delta.intervalo-ms)
+  despues=$(sentencias)
+  rm -f "$config"
+  fallos=$(printf '%s\n' "$codigos" | grep -Evc '^(200|202)$' || true)
+  awk -v m="$modo" -v n="$PETICIONES" -v f="$fallos" -v s=$(( despues - antes )) -v t0="$inicio" -v t1="$fin" \
+    'BEGIN { printf "%-6s %6d peticiones  %8.0f pet/s  %5d fallos  %7d sentencias SQL\n", m, n, n / (t1 - t0), f, s }'
+}
+
+medir put
+antes=$(stock_total)
+medir delta
+despues=$(stock_total)
+echo "Stock total: $antes antes de los deltas, $despues después (esperado $(( antes + PETICIONES )))"
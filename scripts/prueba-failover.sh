@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+# Prueba de failover del gateway: arranca Eureka, el gateway y dos instancias de
+# productos-service (perfil h2), lanza peticiones continuas a /productos a través
+# del gateway, mata una instancia con SIGKILL y mide la ventana de errores.
+# Termina con código 1 si alguna petición posterior al kill falla (failover visible para el cliente).
+#
+# Uso:
+#   ./mvnw -DskipTests package
+#   scripts/prueba-failover.sh [segundos_tras_kill]
+set -euo pipefail
+
+RAIZ="$(cd "$(dirname "$0")/.." && pwd)"
+TRABAJO="$RAIZ/target/prueba-failover"
+DURACION="${1:-40}"
+GATEWAY=http://localhost:8085
+PIDS=()
+
+ruta_jar() { ls "$RAIZ/$1"/target/"$1"-*.jar | grep -v original | head -1; }
+limpiar() { kill "${PIDS[@]}" 2>/dev/null || true; }
+trap limpiar EXIT
+
+esperar() {
+  local url="$1"
+  for _ in $(seq 1 240); do
+    [ "$(curl -s -o /dev/null -w '%{http_code}' "$url" || true)" = "200" ] && return 0
+    sleep 0.5
+  done
+  echo "Timeout esperando $url" >&2
+  exit 1
+}
+
+mkdir -p "$TRABAJO"
+java -jar "$(ruta_jar eureka-server)" > "$TRABAJO/eureka.log" 2>&1 & PIDS+=($!)
+esperar http://localhost:8761/
+java -jar "$(ruta_jar api-gateway)" > "$TRABAJO/gateway.log" 2>&1 & PIDS+=($!)
+java -jar "$(ruta_jar productos-service)" --spring.profiles.active=h2 --server.port=18082 \
+  --eureka.instance.instance-id=productos-a > "$TRABAJO/productos-a.log" 2>&1 & PID_A=$!; PIDS+=($PID_A)
+java -jar "$(ruta_jar productos-service)" --spring.profiles.active=h2 --server.port=18092 \
+  --eureka.instance.instance-id=productos-b > "$TRABAJO/productos-b.log" 2>&1 & PIDS+=($!)
+esperar http://localhost:18082/productos
+esperar http://localhost:18092/productos
+esperar $GATEWAY/productos
+sleep 10   # ambas instancias registradas y visibles en el gateway
+
+# Una línea por petición: "<ms desde epoch> <código http>"
+RESULTADOS="$TRABAJO/peticiones.txt"
+: > "$RESULTADOS"
+(
+  fin=$(( $(date +%s) + DURACION + 5 ))
+  while [ "$(date +%s)" -lt "$fin" ]; do
+    echo "$(date +%s%3N) $(curl -s -o /dev/null -m 5 -w '%{http_code}' $GATEWAY/productos || true)" >> "$RESULTADOS"
+  done
+) & CARGA=$!
+
+sleep 5
+KILL_MS=$(date +%s%3N)
+kill -9 "$PID_A"
+echo "Instancia productos-a eliminada (SIGKILL)"
+wait "$CARGA"
+
+awk -v kill="$KILL_MS" '
+  { total++ }
+  $2 != "200" { errores++; if ($1 >= kill) tras_kill++; if (!primero) primero = $1; ultimo = $1 }
+  END {
+    printf "Peticiones: %d, errores: %d (%.2f%%), tras el kill: %d\n", total, errores, 100 * errores / total, tras_kill
+    if (errores) printf "Ventana de errores: %d ms (desde %d ms tras el kill)\n", ultimo - primero, primero - kill
+    else print "Sin errores visibles para el cliente"
+    exit (tras_kill > 0)
+  }' "$RESULTADOS"
@@ -21,8 +21,9 @@ CREATE TABLE IF NOT EXISTS `proveedores` (
   `direccion` VARCHAR(500),
   `telefono` VARCHAR(20),
   `estado` BOOLEAN DEFAULT TRUE,
-  `fecha_creacion` TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-  `fecha_actualizacion` TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  `fecha_creacion` TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
+  `fecha_actualizacion` TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+  `version` BIGINT NOT NULL DEFAULT 0,
   PRIMARY KEY (`id`),
   INDEX `idx_proveedor_ruc` (`ruc`),
   INDEX `idx_proveedor_estado` (`estado`)
@@ -39,8 +40,9 @@ CREATE TABLE IF NOT EXISTS `productos` (
   `stock` INT NOT NULL DEFAULT 0,
   `proveedor_id` BIGINT NOT NULL,
   `estado` BOOLEAN DEFAULT TRUE,
-  `fecha_creacion` TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-  `fecha_actualizacion` TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  `fecha_creacion` TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
+  `fecha_actualizacion` TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+  `version` BIGINT NOT NULL DEFAULT 0,
   PRIMARY KEY (`id`),
   FOREIGN KEY (`proveedor_id`) REFERENCES `proveedores` (`id`) ON DELETE RESTRICT,
   INDEX `idx_producto_proveedor` (`proveedor_id`),
@@ -62,7 +64,8 @@ CREATE TABLE IF NOT EXISTS `ordenes_compra` (
   FOREIGN KEY (`proveedor_id`) REFERENCES `proveedores` (`id`) ON DELETE RESTRICT,
   INDEX `idx_orden_proveedor` (`proveedor_id`),
   INDEX `idx_orden_fecha` (`fecha_creacion`),
-  INDEX `idx_orden_estado` (`estado`)
+  INDEX `idx_orden_estado` (`estado`),
+  INDEX `idx_orden_estado_actualizacion` (`estado`, `fecha_actualizacion`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- =====================================================================
@@ -82,11 +85,111 @@ CREATE TABLE IF NOT EXISTS `detalle_orden_compra` (
   FOREIGN KEY (`producto_id`) REFERENCES `productos` (`id`) ON DELETE RESTRICT,
   INDEX `idx_detalle_orden` (`orden_compra_id`),
   INDEX `idx_detalle_producto` (`producto_id`),
+  INDEX `idx_detalle_fecha_producto` (`fecha_creacion`, `producto_id`, `cantidad`, `precio_total`),
+  INDEX `idx_detalle_producto_fecha` (`producto_id`, `fecha_creacion`),
   CHECK (`cantidad` > 0),
   CHECK (`precio_unitario` > 0),
   CHECK (`precio_total` > 0)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- =====================================================================
+-- TABLAS DE ARCHIVO: ÓRDENES CERRADAS ANTIGUAS
+-- =====================================================================
+-- El job de archivo de ordenes-service mueve aquí las órdenes con estado = FALSE
+-- más antiguas que ordenes.archivo.antiguedad-dias, junto con sus detalles.
+CREATE TABLE IF NOT EXISTS `ordenes_compra_archivo` (
+  `id` BIGINT NOT NULL,
+  `proveedor_id` BIGINT NOT NULL,
+  `total` DECIMAL(10,2) NOT NULL,
+  `estado` BOOLEAN NOT NULL,
+  `fecha_creacion` TIMESTAMP NULL,
+  `fecha_actualizacion` TIMESTAMP NULL,
+  `fecha_archivado` TIMESTAMP NULL,
+  PRIMARY KEY (`id`),
+  INDEX `idx_orden_archivo_proveedor` (`proveedor_id`),
+  INDEX `idx_orden_archivo_fecha` (`fecha_creacion`)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS `detalle_orden_compra_archivo` (
+  `id` BIGINT NOT NULL,
+  `orden_compra_id` BIGINT NOT NULL,
+  `producto_id` BIGINT NOT NULL,
+  `cantidad` INT NOT NULL,
+  `precio_unitario` DECIMAL(10,2) NOT NULL,
+  `precio_total` DECIMAL(10,2) NOT NULL,
+  `fecha_creacion` TIMESTAMP NULL,
+  `fecha_actualizacion` TIMESTAMP NULL,
+  PRIMARY KEY (`id`),
+  INDEX `idx_detalle_archivo_orden` (`orden_compra_id`),
+  INDEX `idx_detalle_archivo_fecha_producto` (`fecha_creacion`, `producto_id`, `cantidad`, `precio_total`),
+  INDEX `idx_detalle_archivo_producto_fecha` (`producto_id`, `fecha_creacion`)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- =====================================================================
+-- RESÚMENES MENSUALES DE COMPRAS (ANALÍTICA)
+-- =====================================================================
+-- El job de resumen de ordenes-service agrega aquí cada mes UTC cerrado (órdenes
+-- activas y archivadas); resumen_compras_estado guarda hasta qué mes están calculados.
+CREATE TABLE IF NOT EXISTS `resumen_gasto_proveedor_mes` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `mes` DATE NOT NULL,
+  `proveedor_id` BIGINT NOT NULL,
+  `ordenes` BIGINT NOT NULL,
+  `total` DECIMAL(14,2) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_resumen_gasto_mes_proveedor` (`mes`, `proveedor_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS `resumen_producto_mes` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `mes` DATE NOT NULL,
+  `producto_id` BIGINT NOT NULL,
+  `cantidad` BIGINT NOT NULL,
+  `monto` DECIMAL(14,2) NOT NULL,
+  `precio_minimo` DECIMAL(10,2) NOT NULL,
+  `precio_maximo` DECIMAL(10,2) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_resumen_producto_mes_producto` (`mes`, `producto_id`),
+  INDEX `idx_resumen_producto_producto_mes` (`producto_id`, `mes`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS `resumen_compras_estado` (
+  `id` INT NOT NULL,
+  `consolidado_hasta` DATE NOT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Meses ya resumidos con cambios posteriores (órdenes, detalles o conciliación de
+-- totales), pendientes de recalcular por el job de resumen.
+CREATE TABLE IF NOT EXISTS `resumen_compras_mes_pendiente` (
+  `mes` DATE NOT NULL,
+  PRIMARY KEY (`mes`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- =====================================================================
+-- VERSIÓN DE LOS CATÁLOGOS (ETAG DE LOS LISTADOS)
+-- =====================================================================
+-- Un contador por catálogo ('productos', 'proveedores') que cada escritura del
+-- catálogo, incluido el volcado de deltas de stock, incrementa en su transacción.
+CREATE TABLE IF NOT EXISTS `catalogo_version` (
+  `catalogo` VARCHAR(50) NOT NULL,
+  `version` BIGINT NOT NULL,
+  `fecha_actualizacion` TIMESTAMP(6) NULL,
+  PRIMARY KEY (`catalogo`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- =====================================================================
+-- DIARIO DE STOCK: ÚLTIMO SEGMENTO APLICADO POR INSTANCIA
+-- =====================================================================
+-- productos-service registra aquí, en la misma transacción que el volcado de
+-- deltas de stock, el último segmento de su diario local ya aplicado.
+CREATE TABLE IF NOT EXISTS `stock_diario_volcado` (
+  `instancia` VARCHAR(150) NOT NULL,
+  `ultimo_segmento` BIGINT NOT NULL,
+  `fecha_actualizacion` TIMESTAMP NULL,
+  PRIMARY KEY (`instancia`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- =====================================================================
 -- DATOS INICIALES: PROVEEDORES
 -- =====================================================================